@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.toolchain.RequirementMatcherFactory;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.java.DefaultJavaToolChain;
+import org.apache.maven.toolchain.model.ToolchainModel;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolchainMatchingBenchmark {
+
+    private static final String[] VENDORS = {"temurin", "zulu", "corretto", "liberica", "oracle_open_jdk"};
+
+    @Param({"10", "100", "1000", "10000"})
+    int toolchains;
+
+    private ToolchainPrivate[] available;
+
+    private ToolchainIndex index;
+
+    private Map<String, String> exactRequirements;
+
+    private Map<String, String> rangeRequirements;
+
+    @Setup
+    public void createToolchains() {
+        Logger logger = new ConsoleLogger(Logger.LEVEL_DISABLED, "benchmark");
+
+        available = new ToolchainPrivate[toolchains];
+
+        for (int i = 0; i < toolchains; i++) {
+            available[i] = toolchain(logger, version(i), vendor(i));
+        }
+
+        index = ToolchainIndex.build("jdk", available);
+
+        exactRequirements = Map.of("version", version(toolchains - 1), "vendor", vendor(toolchains - 1));
+
+        rangeRequirements = Map.of("version", "[25,26)", "vendor", vendor(toolchains - 1));
+    }
+
+    @Benchmark
+    public ToolchainPrivate linearScan() {
+        return scan(exactRequirements);
+    }
+
+    @Benchmark
+    public ToolchainPrivate linearScanRange() {
+        return scan(rangeRequirements);
+    }
+
+    @Benchmark
+    public ToolchainPrivate indexLookup() {
+        return index.find(exactRequirements);
+    }
+
+    @Benchmark
+    public ToolchainPrivate indexLookupRange() {
+        return index.find(rangeRequirements);
+    }
+
+    @Benchmark
+    public ToolchainPrivate indexBuildAndLookup() {
+        return ToolchainIndex.build("jdk", available).find(exactRequirements);
+    }
+
+    private ToolchainPrivate scan(Map<String, String> requirements) {
+        for (ToolchainPrivate toolchain : available) {
+            if (toolchain.matchesRequirements(requirements)) {
+                return toolchain;
+            }
+        }
+
+        return null;
+    }
+
+    private static ToolchainPrivate toolchain(Logger logger, String version, String vendor) {
+        ToolchainModel model = new ToolchainModel();
+        model.setType("jdk");
+        model.addProvide("version", version);
+        model.addProvide("vendor", vendor);
+
+        DefaultJavaToolChain toolchain = new DefaultJavaToolChain(model, logger);
+        toolchain.setJavaHome("/jdks/" + vendor + "-" + version);
+        toolchain.addProvideToken("version", RequirementMatcherFactory.createVersionMatcher(version));
+        toolchain.addProvideToken("vendor", RequirementMatcherFactory.createExactMatcher(vendor));
+
+        return toolchain;
+    }
+
+    private static String vendor(int index) {
+        return VENDORS[index % VENDORS.length];
+    }
+
+    private static String version(int index) {
+        return (8 + index / VENDORS.length % 18) + ".0." + index / (VENDORS.length * 18);
+    }
+}
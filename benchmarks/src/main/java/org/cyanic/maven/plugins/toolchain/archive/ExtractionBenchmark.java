@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    private static final String ROOT = "jdk-21.0.4+7";
+
+    private static final int SMALL_FILE_SIZE = 48 * 1024;
+
+    private static final int LARGE_FILE_SIZE = 4 * 1024 * 1024;
+
+    @Param({"tar.gz", "zip"})
+    String format;
+
+    @Param({"java", "native"})
+    String backend;
+
+    @Param({"600"})
+    int files;
+
+    private final Log log = new DefaultLog(new ConsoleLogger(Logger.LEVEL_DISABLED, "benchmark"));
+
+    private Path workDir;
+
+    private Path archive;
+
+    private Path targetDir;
+
+    @Setup(Level.Trial)
+    public void createArchive() throws IOException {
+        workDir = Files.createTempDirectory("extraction-benchmark");
+
+        archive = workDir.resolve("jdk." + format);
+
+        targetDir = workDir.resolve("jdk");
+
+        if (format.equals("zip")) {
+            createZip(archive, files);
+        } else {
+            createTarGz(archive, files);
+        }
+
+        System.setProperty(ExtractionBackends.BACKEND_PROPERTY, backend);
+    }
+
+    @Setup(Level.Invocation)
+    public void cleanTarget() throws IOException {
+        FileUtils.deleteDirectory(targetDir.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkDir() throws IOException {
+        System.clearProperty(ExtractionBackends.BACKEND_PROPERTY);
+
+        FileUtils.deleteDirectory(workDir.toFile());
+    }
+
+    @Benchmark
+    public Path extract() throws IOException {
+        ExtractionBackends.extract(log, archive, targetDir);
+
+        return targetDir;
+    }
+
+    private static void createTarGz(Path archive, int files) throws IOException {
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(Files.newOutputStream(archive)))) {
+            tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+
+            for (int i = 0; i < files; i++) {
+                byte[] data = content(i);
+
+                TarArchiveEntry entry = new TarArchiveEntry(entryName(i));
+                entry.setSize(data.length);
+                entry.setMode(i % 10 == 0 ? 0755 : 0644);
+
+                tarOut.putArchiveEntry(entry);
+                tarOut.write(data);
+                tarOut.closeArchiveEntry();
+            }
+
+            byte[] release = release();
+
+            TarArchiveEntry releaseEntry = new TarArchiveEntry(ROOT + "/release");
+            releaseEntry.setSize(release.length);
+
+            tarOut.putArchiveEntry(releaseEntry);
+            tarOut.write(release);
+            tarOut.closeArchiveEntry();
+        }
+    }
+
+    private static void createZip(Path archive, int files) throws IOException {
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(archive)) {
+            for (int i = 0; i < files; i++) {
+                zipOut.putArchiveEntry(new ZipArchiveEntry(entryName(i)));
+                zipOut.write(content(i));
+                zipOut.closeArchiveEntry();
+            }
+
+            zipOut.putArchiveEntry(new ZipArchiveEntry(ROOT + "/release"));
+            zipOut.write(release());
+            zipOut.closeArchiveEntry();
+        }
+    }
+
+    private static String entryName(int index) {
+        String dir = switch (index % 4) {
+            case 0 -> "bin";
+            case 1 -> "lib";
+            case 2 -> "legal/java.base";
+            default -> "include";
+        };
+
+        return ROOT + "/" + dir + "/file-" + index + ".bin";
+    }
+
+    private static byte[] content(int index) {
+        byte[] data = new byte[index % 50 == 0 ? LARGE_FILE_SIZE : SMALL_FILE_SIZE + index % 1024];
+
+        Random random = new Random(index);
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(16));
+        }
+
+        return data;
+    }
+
+    private static byte[] release() {
+        return "JAVA_VERSION=\"21.0.4\"".getBytes(StandardCharsets.UTF_8);
+    }
+}
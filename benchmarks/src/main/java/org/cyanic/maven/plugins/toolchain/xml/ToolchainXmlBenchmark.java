@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.xml;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolchainXmlBenchmark {
+
+    private static final String[] VENDORS = {"temurin", "zulu", "corretto", "liberica", "oracle_open_jdk"};
+
+    @Param({"10", "100", "1000"})
+    int entries;
+
+    private String originalUserHome;
+
+    private Path userHome;
+
+    private Path toolchainsXml;
+
+    private String toolchains;
+
+    private Path registeredJdk;
+
+    private Path newJdk;
+
+    @Setup(Level.Trial)
+    public void createToolchains() throws IOException {
+        originalUserHome = System.getProperty("user.home");
+
+        userHome = Files.createTempDirectory("toolchains-benchmark");
+
+        toolchainsXml = Files.createDirectories(userHome.resolve(".m2")).resolve("toolchains.xml");
+
+        StringBuilder xml = new StringBuilder("<toolchains>\n");
+
+        for (int i = 0; i < entries; i++) {
+            xml.append("  <toolchain>\n")
+                    .append("    <type>jdk</type>\n")
+                    .append("    <provides>\n")
+                    .append("      <version>").append(version(i)).append("</version>\n")
+                    .append("      <vendor>").append(vendor(i)).append("</vendor>\n")
+                    .append("    </provides>\n")
+                    .append("    <configuration>\n")
+                    .append("      <jdkHome>").append(jdkHome(i)).append("</jdkHome>\n")
+                    .append("    </configuration>\n")
+                    .append("  </toolchain>\n");
+        }
+
+        toolchains = xml.append("</toolchains>\n").toString();
+
+        registeredJdk = jdkHome(entries - 1);
+
+        newJdk = jdkHome(entries);
+
+        System.setProperty("user.home", userHome.toString());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetToolchains() throws IOException {
+        Files.writeString(toolchainsXml, toolchains, StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteUserHome() throws IOException {
+        System.setProperty("user.home", originalUserHome);
+
+        FileUtils.deleteDirectory(userHome.toFile());
+    }
+
+    @Benchmark
+    public Object addNewJdk() throws Exception {
+        return ToolchainXmlHelper.addJDKToToolchains(newJdk, version(entries), vendor(entries));
+    }
+
+    @Benchmark
+    public Object addRegisteredJdk() throws Exception {
+        return ToolchainXmlHelper.addJDKToToolchains(registeredJdk, version(entries - 1), vendor(entries - 1));
+    }
+
+    private Path jdkHome(int index) {
+        return userHome.resolve(".m2").resolve("jdks").resolve(vendor(index)).resolve(version(index));
+    }
+
+    private static String vendor(int index) {
+        return VENDORS[index % VENDORS.length];
+    }
+
+    private static String version(int index) {
+        return (8 + index / VENDORS.length % 18) + ".0." + index / (VENDORS.length * 18);
+    }
+}
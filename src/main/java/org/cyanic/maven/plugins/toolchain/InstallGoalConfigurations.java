@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.cyanic.maven.plugins.toolchain.config.ToolchainConfigParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.JDK_TOOLCHAIN_TYPE;
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.getToolchainType;
+
+/**
+ * Reads the configuration of every {@code install} execution in the reactor, for the goals that have to act on the
+ * toolchains of all modules before, or instead of, the install goal running in each of them.
+ */
+final class InstallGoalConfigurations {
+
+    static final String PLUGIN_KEY = "org.cyanic:toolchain-installer-maven-plugin";
+
+    private static final String INSTALL_GOAL = "install";
+
+    private InstallGoalConfigurations() {}
+
+    static List<Configuration> collect(MavenSession session) {
+        List<Configuration> configurations = new ArrayList<>();
+
+        for (MavenProject project : session.getProjects()) {
+            Plugin plugin = project.getPlugin(PLUGIN_KEY);
+
+            if (plugin == null) {
+                continue;
+            }
+
+            for (PluginExecution execution : plugin.getExecutions()) {
+                if (!execution.getGoals().contains(INSTALL_GOAL)) {
+                    continue;
+                }
+
+                Xpp3Dom configuration = (Xpp3Dom) execution.getConfiguration();
+
+                if (configuration == null || configuration.getChild("toolchains") == null || isSkipped(configuration)) {
+                    continue;
+                }
+
+                configurations.add(new Configuration(project, configuration));
+            }
+        }
+
+        return configurations;
+    }
+
+    /**
+     * Returns the JDK requirements of all the configurations, keyed by type and requirements so the same JDK required
+     * by several modules is only listed once.
+     */
+    static Map<String, Map<String, String>> getJdkRequirements(List<Configuration> configurations) {
+        Map<String, Map<String, String>> requirements = new LinkedHashMap<>();
+
+        for (Configuration configuration : configurations) {
+            Map<String, Map<String, String>> toolchains = ToolchainConfigParser.fromDom(configuration.dom().getChild("toolchains")).getToolchains();
+
+            for (Map.Entry<String, Map<String, String>> entry : toolchains.entrySet()) {
+                if (getToolchainType(entry.getKey()).equals(JDK_TOOLCHAIN_TYPE)) {
+                    requirements.putIfAbsent(JDK_TOOLCHAIN_TYPE + new TreeMap<>(entry.getValue()), entry.getValue());
+                }
+            }
+        }
+
+        return requirements;
+    }
+
+    private static boolean isSkipped(Xpp3Dom configuration) {
+        Xpp3Dom skip = configuration.getChild("skip");
+
+        return skip != null && Boolean.parseBoolean(skip.getValue());
+    }
+
+    record Configuration(MavenProject project, Xpp3Dom dom) {}
+}
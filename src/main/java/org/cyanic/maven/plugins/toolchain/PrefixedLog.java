@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.plugin.logging.Log;
+
+final class PrefixedLog implements Log {
+
+    private final Log delegate;
+
+    private final String prefix;
+
+    PrefixedLog(Log delegate, String name) {
+        this.delegate = delegate;
+        this.prefix = "[" + name + "] ";
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+        delegate.debug(prefix + content);
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+        delegate.debug(prefix + content, error);
+    }
+
+    @Override
+    public void debug(Throwable error) {
+        delegate.debug(prefix + error, error);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public void info(CharSequence content) {
+        delegate.info(prefix + content);
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+        delegate.info(prefix + content, error);
+    }
+
+    @Override
+    public void info(Throwable error) {
+        delegate.info(prefix + error, error);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+        delegate.warn(prefix + content);
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+        delegate.warn(prefix + content, error);
+    }
+
+    @Override
+    public void warn(Throwable error) {
+        delegate.warn(prefix + error, error);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    @Override
+    public void error(CharSequence content) {
+        delegate.error(prefix + content);
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+        delegate.error(prefix + content, error);
+    }
+
+    @Override
+    public void error(Throwable error) {
+        delegate.error(prefix + error, error);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.cyanic.maven.plugins.toolchain.concurrent.Futures;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class SingleFlightInstalls {
+
+    private static final Map<String, CompletableFuture<ToolchainPrivate>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private SingleFlightInstalls() {}
+
+    static ToolchainPrivate install(Log log, String key, Supplier<ToolchainPrivate> installer) {
+        CompletableFuture<ToolchainPrivate> future = new CompletableFuture<>();
+
+        CompletableFuture<ToolchainPrivate> inFlight = IN_FLIGHT.putIfAbsent(key, future);
+
+        if (inFlight != null) {
+            log.info("Waiting for install of " + key + " already in progress");
+
+            return Futures.await(inFlight, "waiting for install of " + key, RuntimeException.class, IllegalStateException::new);
+        }
+
+        try {
+            ToolchainPrivate toolchain = installer.get();
+
+            future.complete(toolchain);
+
+            return toolchain;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, future);
+        }
+    }
+
+    static String key(String vendor, String version) {
+        return vendor.toLowerCase() + " " + version + " " + System.getProperty("os.name").toLowerCase() + "-" + System.getProperty("os.arch").toLowerCase();
+    }
+}
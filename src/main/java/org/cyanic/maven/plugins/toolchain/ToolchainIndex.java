@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.Restriction;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.model.ToolchainModel;
+import org.cyanic.maven.plugins.toolchain.version.VersionRequirement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+
+final class ToolchainIndex {
+
+    private static final String VERSION = "version";
+
+    private static final String VENDOR = "vendor";
+
+    private final Map<String, VendorToolchains> toolchainsByVendor = new HashMap<>();
+
+    private final List<IndexedToolchain> unindexedToolchains = new ArrayList<>();
+
+    private ToolchainIndex() {}
+
+    static ToolchainIndex build(String type, ToolchainPrivate[] toolchains) {
+        ToolchainIndex index = new ToolchainIndex();
+
+        for (int i = 0; i < toolchains.length; i++) {
+            ToolchainPrivate toolchain = toolchains[i];
+
+            if (!type.equals(toolchain.getType())) {
+                continue;
+            }
+
+            IndexedToolchain indexedToolchain = new IndexedToolchain(i, toolchain);
+
+            ToolchainModel model = toolchain.getModel();
+
+            if (model == null || model.getProvides() == null) {
+                index.unindexedToolchains.add(indexedToolchain);
+
+                continue;
+            }
+
+            Properties provides = model.getProvides();
+
+            index.toolchainsByVendor.computeIfAbsent(normalizeVendor(provides.getProperty(VENDOR)), vendor -> new VendorToolchains())
+                    .add(provides.getProperty(VERSION), indexedToolchain);
+        }
+
+        return index;
+    }
+
+    ToolchainPrivate find(Map<String, String> requirements) {
+        requirements = toVersionSpec(requirements);
+
+        List<IndexedToolchain> candidates = new ArrayList<>(unindexedToolchains);
+
+        String vendor = requirements.get(VENDOR);
+
+        if (vendor == null) {
+            for (VendorToolchains vendorToolchains : toolchainsByVendor.values()) {
+                vendorToolchains.collect(requirements.get(VERSION), candidates);
+            }
+        } else {
+            VendorToolchains vendorToolchains = toolchainsByVendor.get(normalizeVendor(vendor));
+
+            if (vendorToolchains != null) {
+                vendorToolchains.collect(requirements.get(VERSION), candidates);
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt(IndexedToolchain::order));
+
+        for (IndexedToolchain candidate : candidates) {
+            if (candidate.toolchain().matchesRequirements(requirements)) {
+                return candidate.toolchain();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A JDK found locally for {@code 21+} is registered with its concrete version, so the requirement is matched as
+     * the equivalent Maven range. Otherwise it never matches and the local JDKs are scanned again on every build.
+     */
+    private static Map<String, String> toVersionSpec(Map<String, String> requirements) {
+        VersionRequirement requirement = VersionRequirement.parse(requirements.get(VERSION));
+
+        if (requirement == null || requirement.toVersionSpec().equals(requirements.get(VERSION))) {
+            return requirements;
+        }
+
+        Map<String, String> translated = new HashMap<>(requirements);
+
+        translated.put(VERSION, requirement.toVersionSpec());
+
+        return translated;
+    }
+
+    private static String normalizeVendor(String vendor) {
+        return vendor == null ? "" : vendor.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class VendorToolchains {
+
+        private final NavigableMap<ArtifactVersion, List<IndexedToolchain>> toolchainsByVersion = new TreeMap<>();
+
+        private final List<IndexedToolchain> toolchains = new ArrayList<>();
+
+        void add(String version, IndexedToolchain toolchain) {
+            toolchains.add(toolchain);
+
+            if (version != null) {
+                toolchainsByVersion.computeIfAbsent(new DefaultArtifactVersion(version), v -> new ArrayList<>()).add(toolchain);
+            }
+        }
+
+        void collect(String version, List<IndexedToolchain> candidates) {
+            if (version == null) {
+                candidates.addAll(toolchains);
+
+                return;
+            }
+
+            VersionRange range;
+
+            try {
+                range = VersionRange.createFromVersionSpec(version);
+            } catch (InvalidVersionSpecificationException e) {
+                return;
+            }
+
+            if (!range.hasRestrictions()) {
+                candidates.addAll(toolchainsByVersion.getOrDefault(range.getRecommendedVersion(), List.of()));
+
+                return;
+            }
+
+            for (Restriction restriction : range.getRestrictions()) {
+                addAll(candidates, subMap(restriction).values());
+            }
+        }
+
+        private NavigableMap<ArtifactVersion, List<IndexedToolchain>> subMap(Restriction restriction) {
+            NavigableMap<ArtifactVersion, List<IndexedToolchain>> versions = toolchainsByVersion;
+
+            if (restriction.getLowerBound() != null) {
+                versions = versions.tailMap(restriction.getLowerBound(), restriction.isLowerBoundInclusive());
+            }
+
+            if (restriction.getUpperBound() != null) {
+                versions = versions.headMap(restriction.getUpperBound(), restriction.isUpperBoundInclusive());
+            }
+
+            return versions;
+        }
+
+        private static void addAll(List<IndexedToolchain> candidates, Collection<List<IndexedToolchain>> toolchains) {
+            for (List<IndexedToolchain> versionToolchains : toolchains) {
+                candidates.addAll(versionToolchains);
+            }
+        }
+    }
+
+    private record IndexedToolchain(int order, ToolchainPrivate toolchain) {}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.toolchain.ToolchainManagerPrivate;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayHttpClient;
+import org.cyanic.maven.plugins.toolchain.foojay.ToolchainLock;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.JDK_TOOLCHAIN_TYPE;
+
+public class ToolchainInstallerLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+    private static final String SKIP_PROPERTY = "toolchain.installer.skip";
+
+    private static final String OFFLINE_PROPERTY = "toolchain.installer.offline";
+
+    private static final String LOCK_FILE_PROPERTY = "toolchain.installer.lockFile";
+
+    private ToolchainManagerPrivate toolchainManagerPrivate;
+
+    private Logger logger;
+
+    @Override
+    public void afterProjectsRead(MavenSession session) {
+        if (Boolean.parseBoolean(getProperty(session, SKIP_PROPERTY))) {
+            return;
+        }
+
+        PluginSettings settings = collectSettings(session);
+
+        Map<String, Map<String, String>> requirements = settings.requirements;
+
+        if (requirements.isEmpty()) {
+            return;
+        }
+
+        Log log = new DefaultLog(logger);
+
+        ToolchainResolutionCache resolutionCache = ToolchainResolutionCache.forSession(session);
+
+        Map<String, Map<String, String>> pendingToolchains = new LinkedHashMap<>();
+
+        try {
+            ToolchainResolver resolver = new ToolchainResolver(log, session, toolchainManagerPrivate, isOffline(session, settings), ToolchainResolver.readLock(getLockFile(session, settings)));
+
+            for (Map.Entry<String, Map<String, String>> entry : requirements.entrySet()) {
+                if (resolutionCache.get(JDK_TOOLCHAIN_TYPE, entry.getValue()) != null) {
+                    continue;
+                }
+
+                ToolchainPrivate toolchain = resolver.findExisting(JDK_TOOLCHAIN_TYPE, entry.getValue());
+
+                if (toolchain != null) {
+                    resolutionCache.put(JDK_TOOLCHAIN_TYPE, entry.getValue(), toolchain);
+                } else {
+                    pendingToolchains.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (pendingToolchains.isEmpty()) {
+                return;
+            }
+
+            log.info("Provisioning " + pendingToolchains.size() + " toolchain(s) before the build starts");
+
+            Map<String, ToolchainPrivate> installedToolchains;
+
+            try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+                installedToolchains = resolver.install(pendingToolchains);
+
+                metrics.getSummary().forEach(log::info);
+            }
+
+            for (Map.Entry<String, Map<String, String>> entry : pendingToolchains.entrySet()) {
+                ToolchainPrivate toolchain = installedToolchains.get(entry.getKey());
+
+                if (toolchain != null) {
+                    resolver.addToRequestToolchains(toolchain);
+
+                    resolutionCache.put(JDK_TOOLCHAIN_TYPE, entry.getValue(), toolchain);
+                }
+            }
+        } catch (MojoExecutionException | RuntimeException e) {
+            log.warn("Couldn't provision toolchains up front, they will be resolved by the install goal: " + e.getMessage());
+            log.debug(e);
+        }
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        FoojayHttpClient.closeSession(session);
+    }
+
+    private PluginSettings collectSettings(MavenSession session) {
+        PluginSettings settings = new PluginSettings();
+
+        List<InstallGoalConfigurations.Configuration> configurations = InstallGoalConfigurations.collect(session);
+
+        settings.requirements.putAll(InstallGoalConfigurations.getJdkRequirements(configurations));
+
+        for (InstallGoalConfigurations.Configuration configuration : configurations) {
+            addSettings(settings, configuration.project(), configuration.dom());
+        }
+
+        return settings;
+    }
+
+    private void addSettings(PluginSettings settings, MavenProject project, Xpp3Dom configuration) {
+        String offline = getValue(configuration, "offline");
+
+        if (offline != null) {
+            settings.offline = Boolean.parseBoolean(offline) || Boolean.TRUE.equals(settings.offline);
+        }
+
+        String lockFile = getValue(configuration, "lockFile");
+
+        if (lockFile != null && settings.lockFile == null) {
+            File file = new File(lockFile);
+
+            settings.lockFile = file.isAbsolute() || project.getBasedir() == null ? file : new File(project.getBasedir(), lockFile);
+        }
+    }
+
+    private File getLockFile(MavenSession session, PluginSettings settings) {
+        if (settings.lockFile != null) {
+            return settings.lockFile;
+        }
+
+        String lockFile = getProperty(session, LOCK_FILE_PROPERTY);
+
+        if (lockFile != null) {
+            return new File(lockFile);
+        }
+
+        File projectDirectory = session.getRequest() == null ? null : session.getRequest().getMultiModuleProjectDirectory();
+
+        return projectDirectory == null ? null : new File(projectDirectory, ToolchainLock.LOCK_FILE);
+    }
+
+    private boolean isOffline(MavenSession session, PluginSettings settings) {
+        if (settings.offline != null) {
+            return session.isOffline() || settings.offline;
+        }
+
+        return session.isOffline() || Boolean.parseBoolean(getProperty(session, OFFLINE_PROPERTY));
+    }
+
+    private static String getValue(Xpp3Dom configuration, String name) {
+        Xpp3Dom child = configuration.getChild(name);
+
+        if (child == null || child.getValue() == null || child.getValue().contains("${")) {
+            return null;
+        }
+
+        return child.getValue().trim();
+    }
+
+    private String getProperty(MavenSession session, String name) {
+        String value = session.getUserProperties().getProperty(name);
+
+        return value != null ? value : System.getProperty(name);
+    }
+
+    /**
+     * Settings of the install goal as configured in the POMs of the reactor, so provisioning here honours the same
+     * offline mode and lockfile the mojo will use later on.
+     */
+    private static final class PluginSettings {
+
+        private final Map<String, Map<String, String>> requirements = new LinkedHashMap<>();
+
+        private Boolean offline;
+
+        private File lockFile;
+    }
+}
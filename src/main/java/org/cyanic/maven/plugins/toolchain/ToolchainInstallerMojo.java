@@ -16,7 +16,6 @@
 
 package org.cyanic.maven.plugins.toolchain;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -26,30 +25,25 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.cyanic.maven.plugins.toolchain.config.ToolchainConfig;
-import org.cyanic.maven.plugins.toolchain.foojay.FoojayHelper;
-import org.cyanic.maven.plugins.toolchain.jbang.JBangHelper;
-import org.cyanic.maven.plugins.toolchain.sdkman.SdkmanHelper;
-import org.apache.maven.toolchain.MisconfiguredToolchainException;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
 import org.apache.maven.toolchain.ToolchainManagerPrivate;
 import org.apache.maven.toolchain.ToolchainPrivate;
-import org.apache.maven.toolchain.model.ToolchainModel;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-@Mojo(name = "install", defaultPhase = LifecyclePhase.VALIDATE, configurator = "toolchain-configurator")
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.JDK_TOOLCHAIN_TYPE;
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.getToolchainType;
+
+@Mojo(name = "install", defaultPhase = LifecyclePhase.VALIDATE, configurator = "toolchain-configurator", threadSafe = true)
 public class ToolchainInstallerMojo extends AbstractMojo {
 
     private static final String SKIP_PROPERTY = "toolchain.installer.skip";
 
-    private static final String JDK_TOOLCHAIN_TYPE = "jdk";
-
-    private static final String TEST_TOOLCHAIN_TYPE = "testJdk";
-
-    private static final String DEFAULT_VENDOR = "oracle_open_jdk";
-
     @Component
     private ToolchainManagerPrivate toolchainManagerPrivate;
 
@@ -62,6 +56,15 @@ public class ToolchainInstallerMojo extends AbstractMojo {
     @Parameter(property = "skip", defaultValue = "false")
     private boolean skip;
 
+    @Parameter(property = "toolchain.installer.offline", defaultValue = "false")
+    private boolean offline;
+
+    @Parameter(property = "toolchain.installer.lockFile", defaultValue = "${session.request.multiModuleProjectDirectory}/toolchains.lock")
+    private File lockFile;
+
+    @Parameter(property = "toolchain.installer.report", defaultValue = "${project.build.directory}/toolchain-installer-report.json")
+    private File reportFile;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         if (shouldSkipExecution()) {
@@ -70,96 +73,134 @@ public class ToolchainInstallerMojo extends AbstractMojo {
             return;
         }
 
-        List<String> nonMatchedTypes = new ArrayList<>();
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            try {
+                resolveToolchains(metrics);
+            } finally {
+                report(metrics);
+            }
+        }
+    }
+
+    private void resolveToolchains(ProvisioningMetrics metrics) throws MojoExecutionException, MojoFailureException {
+        ToolchainResolver resolver = new ToolchainResolver(getLog(), session, toolchainManagerPrivate, isOffline(), ToolchainResolver.readLock(lockFile));
+
+        ToolchainResolutionCache resolutionCache = ToolchainResolutionCache.forSession(session);
+
+        Map<String, ToolchainPrivate> existingToolchains = new LinkedHashMap<>();
+
+        Map<String, Map<String, String>> pendingToolchains = new LinkedHashMap<>();
 
         for (Map.Entry<String, Map<String, String>> entry : toolchains.getToolchains().entrySet()) {
-            String type = entry.getKey();
+            String toolchainType = getToolchainType(entry.getKey());
 
-            if (!selectToolchain(type, entry.getValue())) {
-                nonMatchedTypes.add(type);
-            }
-        }
+            getLog().info("Required toolchain: " + getToolchainRequirementAsString(toolchainType, entry.getValue()));
 
-        if (!nonMatchedTypes.isEmpty()) {
-            StringBuilder buff = new StringBuilder();
+            ToolchainPrivate toolchain = resolutionCache.get(toolchainType, entry.getValue());
 
-            buff.append("Cannot find matching toolchain definitions for the following toolchain types:");
+            if (toolchain != null) {
+                getLog().info("Using toolchain resolved earlier in this build: " + toolchain);
 
-            for (String type : nonMatchedTypes) {
-                buff.append(System.lineSeparator());
-                buff.append(getToolchainRequirementAsString(type, toolchains.getParams(type)));
+                metrics.recordToolchain(entry.getKey(), "cached");
+
+                existingToolchains.put(entry.getKey(), toolchain);
+
+                continue;
             }
 
-            getLog().error(buff.toString());
+            toolchain = resolver.findExisting(toolchainType, entry.getValue());
 
-            throw new MojoFailureException(buff + System.lineSeparator()
-                    + "Please make sure you define the required toolchains in your ~/.m2/toolchains.xml file");
-        }
-    }
+            if (toolchain != null) {
+                getLog().info("Using existing toolchain: " + toolchain);
 
-    private boolean shouldSkipExecution() {
-        String toolchainsSkip = System.getProperty(SKIP_PROPERTY);
+                metrics.recordToolchain(entry.getKey(), "existing");
 
-        if (toolchainsSkip != null) {
-            skip = Boolean.parseBoolean(toolchainsSkip);
+                resolutionCache.put(toolchainType, entry.getValue(), toolchain);
+
+                existingToolchains.put(entry.getKey(), toolchain);
+            } else if (toolchainType.equalsIgnoreCase(JDK_TOOLCHAIN_TYPE)) {
+                pendingToolchains.put(entry.getKey(), entry.getValue());
+            }
         }
 
-        return skip;
-    }
+        Map<String, ToolchainPrivate> installedToolchains = resolver.install(pendingToolchains);
 
-    private boolean selectToolchain(String toolchainType, Map<String, String> requirements) throws MojoExecutionException {
-        if (toolchainType.equals(TEST_TOOLCHAIN_TYPE)) {
-            toolchainType = JDK_TOOLCHAIN_TYPE;
-        }
+        List<String> nonMatchedTypes = new ArrayList<>();
 
-        getLog().info("Required toolchain: " + getToolchainRequirementAsString(toolchainType, requirements));
+        for (String type : toolchains.getToolchains().keySet()) {
+            ToolchainPrivate toolchain = existingToolchains.get(type);
 
-        ToolchainPrivate toolchain = getToolchain(toolchainType, requirements);
+            if (toolchain == null) {
+                toolchain = installedToolchains.get(type);
 
-        if (toolchain == null && toolchainType.equalsIgnoreCase(JDK_TOOLCHAIN_TYPE)) {
-            String version = requirements.get("version");
+                if (toolchain != null) {
+                    metrics.recordToolchain(type, "installed");
 
-            String vendor = requirements.get("vendor");
+                    resolver.addToRequestToolchains(toolchain);
 
-            if (StringUtils.isEmpty(vendor)) {
-                getLog().info("No vendor specified, using default: " + DEFAULT_VENDOR);
-                vendor = DEFAULT_VENDOR;
+                    resolutionCache.put(getToolchainType(type), toolchains.getToolchains().get(type), toolchain);
+                }
             }
 
-            if (vendor.equalsIgnoreCase(DEFAULT_VENDOR)) {
-                getLog().debug("Trying to retrieve toolchain from Sdkman");
+            if (toolchain == null) {
+                metrics.recordToolchain(type, "missing");
 
-                toolchain = SdkmanHelper.getJdkFromSdkman(getLog(), version);
+                nonMatchedTypes.add(type);
+            } else if (getToolchainType(type).equals(JDK_TOOLCHAIN_TYPE)) {
+                toolchainManagerPrivate.storeToolchainToBuildContext(toolchain, session);
             }
+        }
 
-            if (toolchain == null && vendor.equalsIgnoreCase(DEFAULT_VENDOR)) {
-                getLog().debug("Trying to retrieve toolchain from JBang");
+        if (!nonMatchedTypes.isEmpty()) {
+            StringBuilder buff = new StringBuilder();
+
+            buff.append("Cannot find matching toolchain definitions for the following toolchain types:");
 
-                toolchain = JBangHelper.getJdkFromJbang(getLog(), version, vendor);
+            for (String type : nonMatchedTypes) {
+                buff.append(System.lineSeparator());
+                buff.append(getToolchainRequirementAsString(type, toolchains.getParams(type)));
             }
 
-            if (toolchain == null) {
-                getLog().debug("Trying to download toolchain using Foojay");
+            getLog().error(buff.toString());
 
-                toolchain = FoojayHelper.getJdkFromFoojay(getLog(), session.getSettings().getActiveProxy(), version, vendor);
+            if (isOffline()) {
+                throw new MojoFailureException(buff + System.lineSeparator()
+                        + "Running offline, so only locally installed JDKs were considered. Please run the build once online or define the required toolchains in your ~/.m2/toolchains.xml file");
             }
 
-            if (toolchain != null) {
-                addToRequestToolchains(toolchain);
-            }
-        } else {
-            getLog().info("Using existing toolchain: " + toolchain);
+            throw new MojoFailureException(buff + System.lineSeparator()
+                    + "Please make sure you define the required toolchains in your ~/.m2/toolchains.xml file");
         }
+    }
 
-        if (toolchain != null) {
-            if (toolchainType.equals(JDK_TOOLCHAIN_TYPE)) {
-                toolchainManagerPrivate.storeToolchainToBuildContext(toolchain, session);
-            }
+    private void report(ProvisioningMetrics metrics) {
+        for (String line : metrics.getSummary()) {
+            getLog().info(line);
+        }
 
-            return true;
+        if (reportFile == null) {
+            return;
         }
 
-        return false;
+        try {
+            metrics.writeReport(reportFile.toPath());
+        } catch (IOException e) {
+            getLog().warn("Couldn't write provisioning report to " + reportFile + ": " + e.getMessage());
+        }
+    }
+
+    private boolean shouldSkipExecution() {
+        String toolchainsSkip = System.getProperty(SKIP_PROPERTY);
+
+        if (toolchainsSkip != null) {
+            skip = Boolean.parseBoolean(toolchainsSkip);
+        }
+
+        return skip;
+    }
+
+    private boolean isOffline() {
+        return offline || session.isOffline();
     }
 
     private String getToolchainRequirementAsString(String type, Map<String, String> params) {
@@ -180,35 +221,4 @@ public class ToolchainInstallerMojo extends AbstractMojo {
 
         return buff.toString();
     }
-
-    private ToolchainPrivate getToolchain(String toolchainType, Map<String, String> requirements) throws MojoExecutionException {
-        try {
-            ToolchainPrivate[] toolchains = getToolchains(toolchainType);
-
-            getLog().debug("Available toolchains: " + Arrays.toString(toolchains));
-
-            return Arrays.stream(toolchains)
-                    .filter(toolchain -> toolchainType.equals(toolchain.getType()))
-                    .filter(toolchain -> toolchain.matchesRequirements(requirements))
-                    .findFirst()
-                    .orElse(null);
-        } catch (MisconfiguredToolchainException ex) {
-            throw new MojoExecutionException("Misconfigured toolchains", ex);
-        }
-    }
-
-    private ToolchainPrivate[] getToolchains(String type) throws MisconfiguredToolchainException {
-        return toolchainManagerPrivate.getToolchainsForType(type, session);
-    }
-
-    private void addToRequestToolchains(ToolchainPrivate toolchain) {
-        Map<String, List<ToolchainModel>> requestToolchains = session.getRequest().getToolchains();
-
-        if (!requestToolchains.containsKey("jdk")) {
-            requestToolchains.put("jdk", new ArrayList<>());
-        }
-
-        requestToolchains.get("jdk").add(toolchain.getModel());
-    }
-
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.cyanic.maven.plugins.toolchain.config.ToolchainConfig;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayHttpClient;
+import org.cyanic.maven.plugins.toolchain.foojay.ToolchainLock;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.DEFAULT_VENDOR;
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.JDK_TOOLCHAIN_TYPE;
+import static org.cyanic.maven.plugins.toolchain.ToolchainResolver.getToolchainType;
+
+@Mojo(name = "lock", configurator = "toolchain-configurator", aggregator = true, threadSafe = true)
+public class ToolchainLockMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    @Parameter
+    private ToolchainConfig toolchains;
+
+    @Parameter(property = "toolchain.installer.lockFile", defaultValue = "${session.request.multiModuleProjectDirectory}/toolchains.lock")
+    private File lockFile;
+
+    @Parameter(property = "toolchain.installer.lock.platforms")
+    private List<String> platforms;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (session.isOffline()) {
+            throw new MojoFailureException("Toolchains can't be locked while running offline");
+        }
+
+        List<Map<String, String>> toolchainRequirements = new ArrayList<>();
+
+        if (toolchains != null) {
+            for (Map.Entry<String, Map<String, String>> entry : toolchains.getToolchains().entrySet()) {
+                if (getToolchainType(entry.getKey()).equals(JDK_TOOLCHAIN_TYPE)) {
+                    toolchainRequirements.add(entry.getValue());
+                }
+            }
+        }
+
+        // The goal runs once for the whole reactor, so the toolchains only configured in modules are pinned as well
+        toolchainRequirements.addAll(InstallGoalConfigurations.getJdkRequirements(InstallGoalConfigurations.collect(session)).values());
+
+        List<Map.Entry<String, String>> requirements = new ArrayList<>();
+
+        for (Map<String, String> toolchainRequirement : toolchainRequirements) {
+            String version = toolchainRequirement.get("version");
+
+            if (StringUtils.isBlank(version)) {
+                throw new MojoFailureException("Toolchain " + toolchainRequirement + " has no version to lock");
+            }
+
+            String vendor = StringUtils.defaultIfBlank(toolchainRequirement.get("vendor"), DEFAULT_VENDOR);
+
+            Map.Entry<String, String> requirement = Map.entry(vendor, version);
+
+            if (!requirements.contains(requirement)) {
+                requirements.add(requirement);
+            }
+        }
+
+        if (requirements.isEmpty()) {
+            throw new MojoFailureException("No JDK toolchains are configured for the lock or install goals");
+        }
+
+        List<String> lockPlatforms = platforms == null || platforms.isEmpty() ? List.of(ToolchainLock.getCurrentPlatform()) : platforms;
+
+        try {
+            ToolchainLock lock = ToolchainLock.resolve(getLog(), FoojayHttpClient.forSession(session), requirements, lockPlatforms);
+
+            lock.write(lockFile.toPath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Couldn't lock toolchains: " + e.getMessage(), e);
+        }
+
+        getLog().info("Toolchains locked in " + lockFile);
+    }
+}
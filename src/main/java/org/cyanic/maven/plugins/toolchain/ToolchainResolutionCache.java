@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.eclipse.aether.RepositorySystemSession;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class ToolchainResolutionCache {
+
+    private static final String SESSION_KEY = ToolchainResolutionCache.class.getName();
+
+    private final Map<String, ToolchainPrivate> toolchains = new ConcurrentHashMap<>();
+
+    private final Map<String, ToolchainIndex> indexes = new ConcurrentHashMap<>();
+
+    private ToolchainResolutionCache() {}
+
+    static ToolchainResolutionCache forSession(MavenSession session) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+
+        if (repositorySession == null) {
+            return new ToolchainResolutionCache();
+        }
+
+        return (ToolchainResolutionCache) repositorySession.getData().computeIfAbsent(SESSION_KEY, ToolchainResolutionCache::new);
+    }
+
+    ToolchainPrivate get(String type, Map<String, String> requirements) {
+        return toolchains.get(key(type, requirements));
+    }
+
+    void put(String type, Map<String, String> requirements, ToolchainPrivate toolchain) {
+        toolchains.put(key(type, requirements), toolchain);
+    }
+
+    ToolchainIndex getIndex(String type) {
+        return indexes.get(type);
+    }
+
+    void putIndex(String type, ToolchainIndex index) {
+        indexes.put(type, index);
+    }
+
+    void invalidateIndex(String type) {
+        indexes.remove(type);
+    }
+
+    private static String key(String type, Map<String, String> requirements) {
+        return type + new TreeMap<>(requirements);
+    }
+}
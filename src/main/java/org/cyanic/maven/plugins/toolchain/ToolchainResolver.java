@@ -0,0 +1,262 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.MisconfiguredToolchainException;
+import org.apache.maven.toolchain.ToolchainManagerPrivate;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.model.ToolchainModel;
+import org.cyanic.maven.plugins.toolchain.concurrent.Futures;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayHelper;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayHttpClient;
+import org.cyanic.maven.plugins.toolchain.foojay.ToolchainLock;
+import org.cyanic.maven.plugins.toolchain.jbang.JBangHelper;
+import org.cyanic.maven.plugins.toolchain.jfr.ProviderProbeEvent;
+import org.cyanic.maven.plugins.toolchain.local.LocalJdkHelper;
+import org.cyanic.maven.plugins.toolchain.metrics.Phase;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
+import org.cyanic.maven.plugins.toolchain.sdkman.SdkmanHelper;
+import org.cyanic.maven.plugins.toolchain.version.VersionRequirement;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+final class ToolchainResolver {
+
+    static final String JDK_TOOLCHAIN_TYPE = "jdk";
+
+    static final String TEST_TOOLCHAIN_TYPE = "testJdk";
+
+    static final String DEFAULT_VENDOR = "oracle_open_jdk";
+
+    private final Log log;
+
+    private final MavenSession session;
+
+    private final ToolchainManagerPrivate toolchainManagerPrivate;
+
+    private final boolean offline;
+
+    private final ToolchainLock lock;
+
+    private final ToolchainResolutionCache resolutionCache;
+
+    ToolchainResolver(Log log, MavenSession session, ToolchainManagerPrivate toolchainManagerPrivate, boolean offline) {
+        this(log, session, toolchainManagerPrivate, offline, null);
+    }
+
+    ToolchainResolver(Log log, MavenSession session, ToolchainManagerPrivate toolchainManagerPrivate, boolean offline, ToolchainLock lock) {
+        this.log = log;
+        this.session = session;
+        this.toolchainManagerPrivate = toolchainManagerPrivate;
+        this.offline = offline;
+        this.lock = lock;
+        this.resolutionCache = ToolchainResolutionCache.forSession(session);
+    }
+
+    static ToolchainLock readLock(File lockFile) throws MojoExecutionException {
+        if (lockFile == null || !lockFile.isFile()) {
+            return null;
+        }
+
+        try {
+            return ToolchainLock.read(lockFile.toPath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Couldn't read toolchains lockfile " + lockFile, e);
+        }
+    }
+
+    static String getToolchainType(String type) {
+        return type.equals(TEST_TOOLCHAIN_TYPE) ? JDK_TOOLCHAIN_TYPE : type;
+    }
+
+    ToolchainPrivate findExisting(String toolchainType, Map<String, String> requirements) throws MojoExecutionException {
+        return ProvisioningMetrics.time(Phase.TOOLCHAIN_LOOKUP, () -> findIndexed(toolchainType, requirements));
+    }
+
+    private ToolchainPrivate findIndexed(String toolchainType, Map<String, String> requirements) throws MojoExecutionException {
+        ToolchainIndex index = resolutionCache.getIndex(toolchainType);
+
+        if (index == null) {
+            try {
+                ToolchainPrivate[] toolchains = toolchainManagerPrivate.getToolchainsForType(toolchainType, session);
+
+                log.debug("Available toolchains: " + Arrays.toString(toolchains));
+
+                index = ToolchainIndex.build(toolchainType, toolchains);
+            } catch (MisconfiguredToolchainException ex) {
+                throw new MojoExecutionException("Misconfigured toolchains", ex);
+            }
+
+            resolutionCache.putIndex(toolchainType, index);
+        }
+
+        return index.find(requirements);
+    }
+
+    Map<String, ToolchainPrivate> install(Map<String, Map<String, String>> pendingToolchains) throws MojoExecutionException {
+        Map<String, ToolchainPrivate> installedToolchains = new HashMap<>();
+
+        if (pendingToolchains.size() == 1) {
+            Map.Entry<String, Map<String, String>> entry = pendingToolchains.entrySet().iterator().next();
+
+            installedToolchains.put(entry.getKey(), install(log, entry.getValue()));
+
+            return installedToolchains;
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Map<String, Future<ToolchainPrivate>> futures = new LinkedHashMap<>();
+
+            for (Map.Entry<String, Map<String, String>> entry : pendingToolchains.entrySet()) {
+                Log prefixedLog = new PrefixedLog(log, entry.getKey());
+
+                futures.put(entry.getKey(), executor.submit(() -> install(prefixedLog, entry.getValue())));
+            }
+
+            for (Map.Entry<String, Future<ToolchainPrivate>> future : futures.entrySet()) {
+                installedToolchains.put(future.getKey(), Futures.await(future.getValue(), "installing toolchain " + future.getKey(), MojoExecutionException.class, MojoExecutionException::new));
+            }
+        }
+
+        return installedToolchains;
+    }
+
+    void addToRequestToolchains(ToolchainPrivate toolchain) {
+        Map<String, List<ToolchainModel>> requestToolchains = session.getRequest().getToolchains();
+
+        synchronized (requestToolchains) {
+            List<ToolchainModel> jdkToolchains = requestToolchains.computeIfAbsent("jdk", type -> new ArrayList<>());
+
+            if (!jdkToolchains.contains(toolchain.getModel())) {
+                jdkToolchains.add(toolchain.getModel());
+            }
+        }
+
+        resolutionCache.invalidateIndex(JDK_TOOLCHAIN_TYPE);
+    }
+
+    private ToolchainPrivate install(Log log, Map<String, String> requirements) {
+        String version = requirements.get("version");
+
+        String vendor = requirements.get("vendor");
+
+        if (StringUtils.isEmpty(vendor)) {
+            log.info("No vendor specified, using default: " + DEFAULT_VENDOR);
+            vendor = DEFAULT_VENDOR;
+        }
+
+        String jdkVendor = vendor;
+
+        return SingleFlightInstalls.install(log, SingleFlightInstalls.key(jdkVendor, version), () -> install(log, version, jdkVendor));
+    }
+
+    private ToolchainPrivate install(Log log, String version, String vendor) {
+        if (lock != null && lock.isLocked(vendor, version)) {
+            log.debug("Installing toolchain pinned in the lockfile");
+
+            return probe("lockfile", version, vendor, () -> FoojayHelper.getJdkFromLock(log, FoojayHttpClient.forSession(session), lock, version, vendor, offline));
+        }
+
+        if (lock != null) {
+            log.warn(vendor + " " + version + " is not pinned in the toolchains lockfile, resolving it without the lock");
+        }
+
+        ToolchainPrivate toolchain = null;
+
+        if (vendor.equalsIgnoreCase(DEFAULT_VENDOR)) {
+            log.debug("Trying to retrieve toolchain from Sdkman");
+
+            toolchain = ProvisioningMetrics.time(Phase.SDKMAN, () -> probe("sdkman", version, vendor, () -> SdkmanHelper.getJdkFromSdkman(log, version)));
+        }
+
+        if (toolchain == null) {
+            log.debug("Trying to retrieve toolchain from locally installed JDKs");
+
+            toolchain = ProvisioningMetrics.time(Phase.LOCAL_JDKS,
+                    () -> probe("local", version, vendor, () -> LocalJdkHelper.getJdkFromLocalInstalls(log, version, vendor, vendor.equalsIgnoreCase(DEFAULT_VENDOR))));
+        }
+
+        if (toolchain != null) {
+            return toolchain;
+        }
+
+        String downloadVersion = getDownloadVersion(version);
+
+        if (downloadVersion == null) {
+            log.warn("Version requirement " + version + " has no lower bound, so it can only be satisfied by a locally installed JDK");
+
+            return null;
+        }
+
+        if (offline) {
+            log.debug("Offline, trying to retrieve toolchain from local package index");
+
+            toolchain = probe("local package index", downloadVersion, vendor, () -> FoojayHelper.getJdkFromLocalIndex(log, downloadVersion, vendor));
+        } else if (vendor.equalsIgnoreCase(DEFAULT_VENDOR)) {
+            log.debug("Trying to retrieve toolchain from JBang");
+
+            toolchain = ProvisioningMetrics.time(Phase.JBANG, () -> probe("jbang", downloadVersion, vendor, () -> JBangHelper.getJdkFromJbang(log, downloadVersion, vendor)));
+        }
+
+        if (toolchain == null && !offline) {
+            log.debug("Trying to download toolchain using Foojay");
+
+            toolchain = probe("foojay", downloadVersion, vendor, () -> FoojayHelper.getJdkFromFoojay(log, FoojayHttpClient.forSession(session), downloadVersion, vendor));
+        }
+
+        return toolchain;
+    }
+
+    private static ToolchainPrivate probe(String provider, String version, String vendor, Supplier<ToolchainPrivate> lookup) {
+        ProviderProbeEvent event = new ProviderProbeEvent(provider, vendor, version);
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            ToolchainPrivate toolchain = lookup.get();
+
+            event.setOutcome(toolchain == null ? "not found" : "found");
+
+            return toolchain;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static String getDownloadVersion(String version) {
+        VersionRequirement requirement = VersionRequirement.parse(version);
+
+        return requirement == null ? version : requirement.getDownloadVersion();
+    }
+}
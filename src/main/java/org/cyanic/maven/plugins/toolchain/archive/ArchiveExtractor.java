@@ -0,0 +1,267 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Set;
+
+public final class ArchiveExtractor {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    private static final PosixFilePermission[] PERMISSIONS = {
+            PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_READ,
+            PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+            PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_READ
+    };
+
+    private ArchiveExtractor() {}
+
+    public static boolean isTarGz(String fileName) {
+        return fileName.endsWith(".tar.gz") || fileName.endsWith(".tgz");
+    }
+
+    public static void extract(Path archive, Path targetDir) throws IOException {
+        String archiveName = archive.getFileName().toString();
+
+        if (archiveName.endsWith(".zip")) {
+            ParallelZipExtractor.extract(archive, targetDir);
+
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(archive)) {
+            extract(in, archiveName, targetDir);
+        }
+    }
+
+    public static void extract(InputStream in, String archiveName, Path targetDir) throws IOException {
+        Path target = createTarget(targetDir);
+
+        if (isTarGz(archiveName)) {
+            try (TarArchiveInputStream tarIn = new TarArchiveInputStream(new GzipCompressorInputStream(new BufferedInputStream(in, BUFFER_SIZE)))) {
+                extractTar(tarIn, target);
+            }
+        } else {
+            try (ZipArchiveInputStream zipIn = new ZipArchiveInputStream(new BufferedInputStream(in, BUFFER_SIZE))) {
+                extractZip(zipIn, target);
+            }
+        }
+    }
+
+    private static void extractTar(TarArchiveInputStream tarIn, Path target) throws IOException {
+        RootStripper rootStripper = new RootStripper();
+
+        TarArchiveEntry entry;
+
+        while ((entry = tarIn.getNextEntry()) != null) {
+            String name = rootStripper.strip(entry.getName());
+
+            if (name.isEmpty()) {
+                continue;
+            }
+
+            Path path = resolveEntry(target, name);
+
+            if (entry.isDirectory()) {
+                createDirectories(target, path);
+            } else if (entry.isSymbolicLink()) {
+                createSymbolicLink(target, path, entry.getLinkName());
+            } else if (entry.isLink()) {
+                createHardLink(target, path, entry.getLinkName(), rootStripper.strip(entry.getLinkName()));
+            } else {
+                createDirectories(target, path.getParent());
+
+                Files.copy(tarIn, path, StandardCopyOption.REPLACE_EXISTING);
+
+                setPermissions(path, entry.getMode());
+
+                Files.setLastModifiedTime(path, FileTime.from(entry.getLastModifiedDate().toInstant()));
+            }
+        }
+    }
+
+    private static void extractZip(ZipArchiveInputStream zipIn, Path target) throws IOException {
+        RootStripper rootStripper = new RootStripper();
+
+        ZipArchiveEntry entry;
+
+        while ((entry = zipIn.getNextEntry()) != null) {
+            String name = rootStripper.strip(entry.getName());
+
+            if (name.isEmpty()) {
+                continue;
+            }
+
+            Path path = resolveEntry(target, name);
+
+            if (entry.isDirectory()) {
+                createDirectories(target, path);
+            } else if (entry.isUnixSymlink()) {
+                createSymbolicLink(target, path, new String(zipIn.readAllBytes(), StandardCharsets.UTF_8));
+            } else {
+                createDirectories(target, path.getParent());
+
+                Files.copy(zipIn, path, StandardCopyOption.REPLACE_EXISTING);
+
+                if (entry.getPlatform() == ZipArchiveEntry.PLATFORM_UNIX) {
+                    setPermissions(path, entry.getUnixMode());
+                }
+
+                Files.setLastModifiedTime(path, FileTime.fromMillis(entry.getTime()));
+            }
+        }
+    }
+
+    static Path createTarget(Path targetDir) throws IOException {
+        Path target = targetDir.toAbsolutePath().normalize();
+
+        Files.createDirectories(target);
+
+        return target.toRealPath();
+    }
+
+    static Path resolveEntry(Path target, String entryName) throws IOException {
+        Path path = target.resolve(entryName).normalize();
+
+        if (!path.startsWith(target)) {
+            throw new IOException("Archive entry " + entryName + " is outside of " + target);
+        }
+
+        return path;
+    }
+
+    /**
+     * Creates {@code dir} after checking that its closest existing ancestor really lives under {@code target}, so
+     * an entry can't reach outside of it through a symbolic link extracted earlier. {@code target} must be a real
+     * path, as returned by {@link #createTarget(Path)}.
+     */
+    static void createDirectories(Path target, Path dir) throws IOException {
+        Path existing = dir;
+
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+
+        if (existing == null || !existing.toRealPath().startsWith(target)) {
+            throw new IOException("Archive entry " + target.relativize(dir) + " is outside of " + target);
+        }
+
+        Files.createDirectories(dir);
+    }
+
+    static void createSymbolicLink(Path target, Path path, String linkName) throws IOException {
+        Path link = Paths.get(linkName);
+
+        if (link.isAbsolute() || !path.getParent().resolve(link).normalize().startsWith(target)) {
+            throw new IOException("Symbolic link " + target.relativize(path) + " -> " + linkName + " points outside of " + target);
+        }
+
+        createDirectories(target, path.getParent());
+
+        Files.deleteIfExists(path);
+
+        Files.createSymbolicLink(path, link);
+    }
+
+    private static void createHardLink(Path target, Path path, String linkName, String strippedLinkName) throws IOException {
+        if (strippedLinkName.isEmpty()) {
+            throw new IOException("Hard link " + target.relativize(path) + " -> " + linkName + " is outside of the root directory");
+        }
+
+        Path existing = resolveEntry(target, strippedLinkName);
+
+        if (!existing.toRealPath().startsWith(target)) {
+            throw new IOException("Hard link " + target.relativize(path) + " -> " + linkName + " points outside of " + target);
+        }
+
+        createDirectories(target, path.getParent());
+
+        Files.deleteIfExists(path);
+
+        try {
+            Files.createLink(path, existing);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(existing, path, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    static void setPermissions(Path path, int mode) throws IOException {
+        if (!POSIX || mode == 0) {
+            return;
+        }
+
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            if ((mode & (1 << i)) != 0) {
+                permissions.add(PERMISSIONS[i]);
+            }
+        }
+
+        Files.setPosixFilePermissions(path, permissions);
+    }
+
+    /**
+     * Strips the single top-level directory JDK archives wrap their content in. The root is the first directory an
+     * entry lives in; top-level files and entries under any other directory, such as the {@code ._jdk-21.jdk}
+     * AppleDouble files macOS archives carry, are stripped to an empty name so callers skip them.
+     */
+    static final class RootStripper {
+
+        private String root;
+
+        String strip(String entryName) {
+            String name = entryName.startsWith("./") ? entryName.substring(2) : entryName;
+
+            int separator = name.indexOf('/');
+
+            if (separator < 0) {
+                return "";
+            }
+
+            String first = name.substring(0, separator);
+
+            if (root == null) {
+                root = first;
+            } else if (!root.equals(first)) {
+                return "";
+            }
+
+            return name.substring(separator + 1);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.maven.plugin.logging.Log;
+import org.cyanic.maven.plugins.toolchain.jfr.ExtractionEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class ExtractionBackends {
+
+    static final String BACKEND_PROPERTY = "toolchain.installer.extract.backend";
+
+    private static final String AUTO = "auto";
+
+    private static final String NATIVE = "native";
+
+    private static final String JAVA = "java";
+
+    private static final String STREAMING = "java (streaming)";
+
+    private ExtractionBackends() {}
+
+    public static void extract(Log log, Path archive, Path targetDir) throws IOException {
+        String archiveName = archive.getFileName().toString();
+
+        ExtractionBackend backend = select(archiveName);
+
+        log.info("Extracting " + archiveName + " using " + backend.getName() + " backend");
+
+        ExtractionEvent event = new ExtractionEvent(archiveName, backend.getName(), Files.size(archive));
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            extract(log, backend, archive, targetDir, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    public static void extract(Log log, InputStream in, String archiveName, Path targetDir) throws IOException {
+        log.info("Extracting " + archiveName + " using " + STREAMING + " backend");
+
+        BoundedInputStream countingIn = BoundedInputStream.builder().setInputStream(in).get();
+
+        ExtractionEvent event = new ExtractionEvent(archiveName, STREAMING, 0);
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            ArchiveExtractor.extract(countingIn, archiveName, targetDir);
+
+            event.setOutcome("extracted");
+        } finally {
+            event.setBytes(countingIn.getCount());
+
+            event.commit();
+        }
+    }
+
+    private static void extract(Log log, ExtractionBackend backend, Path archive, Path targetDir, ExtractionEvent event) throws IOException {
+        if (backend == JavaExtractionBackend.INSTANCE) {
+            backend.extract(archive, targetDir);
+
+            event.setOutcome("extracted");
+
+            return;
+        }
+
+        try {
+            backend.extract(archive, targetDir);
+
+            event.setOutcome("extracted");
+        } catch (IOException e) {
+            if (!getMode().equals(AUTO)) {
+                throw e;
+            }
+
+            log.warn("Native extraction failed, falling back to java backend: " + e.getMessage());
+
+            FileUtils.deleteDirectory(targetDir.toFile());
+
+            JavaExtractionBackend.INSTANCE.extract(archive, targetDir);
+
+            event.setOutcome("extracted by java fallback");
+        }
+    }
+
+    static ExtractionBackend select(String archiveName) {
+        String mode = getMode();
+
+        if (mode.equals(JAVA)) {
+            return JavaExtractionBackend.INSTANCE;
+        }
+
+        NativeExtractionBackend nativeBackend = NativeExtractionBackend.get();
+
+        if (!nativeBackend.supports(archiveName)) {
+            return JavaExtractionBackend.INSTANCE;
+        }
+
+        if (mode.equals(NATIVE) || ArchiveExtractor.isTarGz(archiveName)) {
+            return nativeBackend;
+        }
+
+        return JavaExtractionBackend.INSTANCE;
+    }
+
+    private static String getMode() {
+        String mode = System.getProperty(BACKEND_PROPERTY, AUTO).trim().toLowerCase();
+
+        return mode.equals(NATIVE) || mode.equals(JAVA) ? mode : AUTO;
+    }
+}
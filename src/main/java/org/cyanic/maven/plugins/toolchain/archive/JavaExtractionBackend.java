@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+final class JavaExtractionBackend implements ExtractionBackend {
+
+    static final JavaExtractionBackend INSTANCE = new JavaExtractionBackend();
+
+    private JavaExtractionBackend() {}
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public boolean supports(String archiveName) {
+        return true;
+    }
+
+    @Override
+    public void extract(Path archive, Path targetDir) throws IOException {
+        ArchiveExtractor.extract(archive, targetDir);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+final class NativeExtractionBackend implements ExtractionBackend {
+
+    private static final long PROBE_TIMEOUT_SECONDS = 5;
+
+    private final boolean tar;
+
+    private final boolean pigz;
+
+    private final boolean unzip;
+
+    private NativeExtractionBackend(boolean tar, boolean pigz, boolean unzip) {
+        this.tar = tar;
+        this.pigz = pigz;
+        this.unzip = unzip;
+    }
+
+    static NativeExtractionBackend get() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public String getName() {
+        if (tar && pigz) {
+            return unzip ? "native (tar + pigz, unzip)" : "native (tar + pigz)";
+        } else if (tar) {
+            return unzip ? "native (tar, unzip)" : "native (tar)";
+        }
+
+        return unzip ? "native (unzip)" : "native (unavailable)";
+    }
+
+    @Override
+    public boolean supports(String archiveName) {
+        if (ArchiveExtractor.isTarGz(archiveName)) {
+            return tar;
+        }
+
+        return archiveName.endsWith(".zip") && unzip;
+    }
+
+    @Override
+    public void extract(Path archive, Path targetDir) throws IOException {
+        String archiveName = archive.getFileName().toString();
+
+        String archivePath = archive.toAbsolutePath().toString();
+
+        String targetPath = targetDir.toAbsolutePath().toString();
+
+        Files.createDirectories(targetDir);
+
+        if (ArchiveExtractor.isTarGz(archiveName) && pigz) {
+            run(new ProcessBuilder("tar", "--use-compress-program=pigz", "-xf", archivePath, "-C", targetPath));
+        } else if (ArchiveExtractor.isTarGz(archiveName)) {
+            run(new ProcessBuilder("tar", "-xzf", archivePath, "-C", targetPath));
+        } else {
+            run(new ProcessBuilder("unzip", "-q", "-o", archivePath, "-d", targetPath));
+        }
+
+        liftSingleRoot(targetDir);
+    }
+
+    private static void run(ProcessBuilder builder) throws IOException {
+        Path errorFile = Files.createTempFile("toolchain-extract", ".log");
+
+        try {
+            Process process = builder
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(errorFile.toFile())
+                    .start();
+
+            try {
+                int exitCode = process.waitFor();
+
+                if (exitCode != 0) {
+                    String error = Files.readString(errorFile, StandardCharsets.UTF_8).trim();
+
+                    throw new IOException(String.join(" ", builder.command()) + " failed with exit code " + exitCode + ": " + error);
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+
+                Thread.currentThread().interrupt();
+
+                throw new IOException("Interrupted while extracting", e);
+            }
+        } finally {
+            Files.deleteIfExists(errorFile);
+        }
+    }
+
+    private static void liftSingleRoot(Path targetDir) throws IOException {
+        File[] roots = targetDir.toFile().listFiles(child -> child.isDirectory() && !isMacOsMetadata(child.getName()));
+
+        if (roots == null || roots.length != 1) {
+            throw new IOException("Unexpected layout in " + targetDir + ", expected a single root directory");
+        }
+
+        Path lifted = targetDir.resolveSibling(targetDir.getFileName() + ".root");
+
+        Files.move(roots[0].toPath(), lifted, StandardCopyOption.ATOMIC_MOVE);
+
+        FileUtils.deleteDirectory(targetDir.toFile());
+
+        Files.move(lifted, targetDir, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean isMacOsMetadata(String name) {
+        return name.startsWith("._") || name.equals("__MACOSX");
+    }
+
+    private static boolean probe(String... command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+
+                return false;
+            }
+
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    private static final class Holder {
+
+        private static final NativeExtractionBackend INSTANCE = new NativeExtractionBackend(
+                probe("tar", "--version"),
+                probe("pigz", "--version"),
+                probe("unzip", "-v"));
+    }
+}
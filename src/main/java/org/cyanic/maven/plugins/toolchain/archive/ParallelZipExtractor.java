@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.archivers.zip.ZipMethod;
+import org.cyanic.maven.plugins.toolchain.concurrent.Futures;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+final class ParallelZipExtractor {
+
+    static final String THREADS_PROPERTY = "toolchain.installer.extract.threads";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ParallelZipExtractor() {}
+
+    static void extract(Path archive, Path targetDir) throws IOException {
+        Path target = ArchiveExtractor.createTarget(targetDir);
+
+        try (ZipFile zipFile = ZipFile.builder().setPath(archive).get()) {
+            ArchiveExtractor.RootStripper rootStripper = new ArchiveExtractor.RootStripper();
+
+            List<ZipArchiveEntry> entries = Collections.list(zipFile.getEntriesInPhysicalOrder());
+
+            List<PendingEntry> files = new ArrayList<>();
+
+            List<PendingEntry> links = new ArrayList<>();
+
+            for (ZipArchiveEntry entry : entries) {
+                String name = rootStripper.strip(entry.getName());
+
+                if (name.isEmpty()) {
+                    continue;
+                }
+
+                Path path = ArchiveExtractor.resolveEntry(target, name);
+
+                if (entry.isDirectory()) {
+                    ArchiveExtractor.createDirectories(target, path);
+                } else if (entry.isUnixSymlink()) {
+                    links.add(new PendingEntry(entry, path));
+                } else {
+                    ArchiveExtractor.createDirectories(target, path.getParent());
+
+                    files.add(new PendingEntry(entry, path));
+                }
+            }
+
+            files.sort(Comparator.comparingLong((PendingEntry pending) -> pending.entry().getCompressedSize()).reversed());
+
+            extractFiles(zipFile, files);
+
+            // Links go last so no worker ever writes through a link planted by the archive
+            for (PendingEntry link : links) {
+                try (InputStream in = zipFile.getInputStream(link.entry())) {
+                    ArchiveExtractor.createSymbolicLink(target, link.path(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    static int getThreads() {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        String threads = System.getProperty(THREADS_PROPERTY);
+
+        if (threads == null) {
+            return processors;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(threads.trim()));
+        } catch (NumberFormatException e) {
+            return processors;
+        }
+    }
+
+    private static void extractFiles(ZipFile zipFile, List<PendingEntry> files) throws IOException {
+        int workers = Math.max(1, Math.min(getThreads(), files.size()));
+
+        AtomicInteger next = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    new Worker(zipFile).run(files, next);
+
+                    return null;
+                }));
+            }
+
+            try {
+                for (Future<?> future : futures) {
+                    Futures.await(future, "extracting", IOException.class, IOException::new);
+                }
+            } catch (IOException e) {
+                next.set(files.size());
+
+                executor.shutdownNow();
+
+                throw e;
+            }
+        }
+    }
+
+    private static final class Worker {
+
+        private final ZipFile zipFile;
+
+        private final Inflater inflater = new Inflater(true);
+
+        private final CRC32 crc = new CRC32();
+
+        private final byte[] input = new byte[BUFFER_SIZE];
+
+        private final byte[] output = new byte[BUFFER_SIZE];
+
+        private Worker(ZipFile zipFile) {
+            this.zipFile = zipFile;
+        }
+
+        void run(List<PendingEntry> files, AtomicInteger next) throws IOException {
+            try {
+                int index;
+
+                while ((index = next.getAndIncrement()) < files.size()) {
+                    extractEntry(files.get(index));
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private void extractEntry(PendingEntry pending) throws IOException {
+            ZipArchiveEntry entry = pending.entry();
+
+            Path path = pending.path();
+
+            crc.reset();
+
+            try (OutputStream out = Files.newOutputStream(path)) {
+                if (entry.getMethod() == ZipMethod.DEFLATED.getCode()) {
+                    inflate(entry, out);
+                } else if (entry.getMethod() == ZipMethod.STORED.getCode()) {
+                    copy(zipFile.getRawInputStream(entry), out);
+                } else {
+                    copy(zipFile.getInputStream(entry), out);
+                }
+            }
+
+            // Raw streams bypass the checks ZipFile would do, so a corrupted entry is only caught here
+            if (entry.getCrc() != -1 && crc.getValue() != entry.getCrc()) {
+                throw new IOException("CRC mismatch for " + entry.getName() + ": expected " + Long.toHexString(entry.getCrc())
+                        + " but was " + Long.toHexString(crc.getValue()));
+            }
+
+            if (entry.getPlatform() == ZipArchiveEntry.PLATFORM_UNIX) {
+                ArchiveExtractor.setPermissions(path, entry.getUnixMode());
+            }
+
+            Files.setLastModifiedTime(path, FileTime.fromMillis(entry.getTime()));
+        }
+
+        private void inflate(ZipArchiveEntry entry, OutputStream out) throws IOException {
+            inflater.reset();
+
+            try (InputStream raw = zipFile.getRawInputStream(entry)) {
+                while (!inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        int read = raw.read(input);
+
+                        if (read < 0) {
+                            throw new EOFException("Unexpected end of compressed data for " + entry.getName());
+                        }
+
+                        inflater.setInput(input, 0, read);
+                    }
+
+                    int inflated = inflater.inflate(output);
+
+                    if (inflated > 0) {
+                        write(out, inflated);
+                    } else if (inflater.needsDictionary()) {
+                        throw new IOException("Unsupported preset dictionary in " + entry.getName());
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted compressed data for " + entry.getName(), e);
+            }
+        }
+
+        private void copy(InputStream in, OutputStream out) throws IOException {
+            try (InputStream source = in) {
+                int read;
+
+                while ((read = source.read(output)) != -1) {
+                    write(out, read);
+                }
+            }
+        }
+
+        private void write(OutputStream out, int length) throws IOException {
+            crc.update(output, 0, length);
+
+            out.write(output, 0, length);
+        }
+    }
+
+    private record PendingEntry(ZipArchiveEntry entry, Path path) {}
+}
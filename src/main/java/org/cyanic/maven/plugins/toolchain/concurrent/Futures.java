@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.concurrent;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+public final class Futures {
+
+    private Futures() {}
+
+    /**
+     * Waits for a task, rethrowing its failure as-is when it is a {@code failureType} and wrapping it otherwise.
+     * An interrupt is restored before being reported the same way.
+     */
+    public static <T, E extends Exception> T await(Future<T> future, String task, Class<E> failureType, BiFunction<String, Throwable, E> failure) throws E {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw failure.apply("Interrupted while " + task, e);
+        } catch (ExecutionException e) {
+            if (failureType.isInstance(e.getCause())) {
+                throw failureType.cast(e.getCause());
+            }
+
+            throw failure.apply("Failed while " + task, e.getCause());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.codehaus.plexus.component.configurator.converters.AbstractConfigurati
 import org.codehaus.plexus.component.configurator.converters.lookup.ConverterLookup;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -64,4 +65,20 @@ public class ToolchainConfigParser extends AbstractConfigurationConverter {
 
         return new ToolchainConfig(map);
     }
+
+    public static ToolchainConfig fromDom(Xpp3Dom configuration) {
+        Map<String, Map<String, String>> map = new HashMap<>();
+
+        for (Xpp3Dom tool : configuration.getChildren()) {
+            Map<String, String> parameters = new HashMap<>();
+
+            for (Xpp3Dom param : tool.getChildren()) {
+                parameters.put(param.getName(), param.getValue());
+            }
+
+            map.put(tool.getName(), parameters);
+        }
+
+        return new ToolchainConfig(map);
+    }
 }
\ No newline at end of file
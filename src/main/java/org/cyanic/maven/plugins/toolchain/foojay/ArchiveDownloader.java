@@ -0,0 +1,448 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.protocol.RedirectLocations;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.maven.plugin.logging.Log;
+import org.cyanic.maven.plugins.toolchain.concurrent.Futures;
+import org.cyanic.maven.plugins.toolchain.jfr.DownloadChunkEvent;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ArchiveDownloader {
+
+    static final String CONNECTIONS_PROPERTY = "toolchain.installer.download.connections";
+
+    static final int DEFAULT_CONNECTIONS = 4;
+
+    static final String PART_SUFFIX = ".part";
+
+    static final String STATE_SUFFIX = ".part.json";
+
+    private static final long MIN_SEGMENT_SIZE = 8L * 1024 * 1024;
+
+    private static final long STATE_SAVE_INTERVAL = 4L * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long HASH_POLL_MILLIS = 5;
+
+    private ArchiveDownloader() {}
+
+    static void download(Log log, CloseableHttpClient httpClient, String link, Path destFile, MessageDigest digest) throws IOException {
+        Path partFile = destFile.resolveSibling(destFile.getFileName() + PART_SUFFIX);
+
+        Path stateFile = destFile.resolveSibling(destFile.getFileName() + STATE_SUFFIX);
+
+        RemoteFile remoteFile = probe(httpClient, link);
+
+        if (remoteFile.rangesSupported() && remoteFile.length() > 0) {
+            DownloadState state = resumeOrCreateState(log, link, remoteFile, partFile, stateFile);
+
+            log.debug("Downloading " + remoteFile.location() + " using " + state.getSegments().size() + " connections");
+
+            try {
+                downloadRanged(httpClient, remoteFile, partFile, stateFile, state, digest);
+            } catch (RangeIgnoredException e) {
+                log.warn(e.getMessage() + ", restarting the download in a single stream");
+
+                Files.deleteIfExists(stateFile);
+
+                if (digest != null) {
+                    digest.reset();
+                }
+
+                downloadSingle(httpClient, remoteFile.location(), partFile, digest);
+            }
+        } else {
+            log.debug("Ranged requests not available for " + link + ", downloading in a single stream");
+
+            Files.deleteIfExists(stateFile);
+
+            downloadSingle(httpClient, remoteFile.location(), partFile, digest);
+        }
+
+        Files.move(partFile, destFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Files.deleteIfExists(stateFile);
+    }
+
+    static void stream(Log log, CloseableHttpClient httpClient, String link, MessageDigest digest, StreamHandler handler) throws IOException {
+        log.debug("Streaming " + link);
+
+        httpClient.execute(new HttpGet(link), response -> {
+            if (response.getCode() != 200) {
+                throw new IOException("Unexpected HTTP status " + response.getCode() + " downloading " + link);
+            }
+
+            try (InputStream in = digest == null ? response.getEntity().getContent() : new DigestInputStream(response.getEntity().getContent(), digest)) {
+                handler.handle(CloseShieldInputStream.wrap(in));
+
+                if (digest != null) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+
+            return null;
+        });
+    }
+
+    static int getConnections() {
+        String connections = System.getProperty(CONNECTIONS_PROPERTY);
+
+        if (connections == null) {
+            return DEFAULT_CONNECTIONS;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(connections.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_CONNECTIONS;
+        }
+    }
+
+    private static RemoteFile probe(CloseableHttpClient httpClient, String link) throws IOException {
+        URI uri = URI.create(link);
+
+        HttpClientContext context = HttpClientContext.create();
+
+        return httpClient.execute(new HttpHead(uri), context, response -> {
+            URI location = getFinalLocation(uri, context);
+
+            if (response.getCode() != 200) {
+                return new RemoteFile(location, -1, false, null);
+            }
+
+            Header acceptRanges = response.getFirstHeader("Accept-Ranges");
+
+            Header contentLength = response.getFirstHeader("Content-Length");
+
+            long length = contentLength == null ? -1 : Long.parseLong(contentLength.getValue().trim());
+
+            boolean rangesSupported = acceptRanges != null && acceptRanges.getValue().trim().equalsIgnoreCase("bytes");
+
+            return new RemoteFile(location, length, rangesSupported, getValidator(response.getFirstHeader("ETag"), response.getFirstHeader("Last-Modified")));
+        });
+    }
+
+    /**
+     * Picks the validator sent in {@code If-Range}. Servers must ignore the range for a weak ETag, which CDNs often
+     * send, so those fall back to {@code Last-Modified}.
+     */
+    static String getValidator(Header etag, Header lastModified) {
+        if (etag != null && !etag.getValue().trim().startsWith("W/")) {
+            return etag.getValue().trim();
+        }
+
+        return lastModified == null ? null : lastModified.getValue().trim();
+    }
+
+    private static URI getFinalLocation(URI uri, HttpClientContext context) {
+        RedirectLocations redirectLocations = context.getRedirectLocations();
+
+        if (redirectLocations == null || redirectLocations.size() == 0) {
+            return uri;
+        }
+
+        return redirectLocations.get(redirectLocations.size() - 1);
+    }
+
+    private static DownloadState resumeOrCreateState(Log log, String link, RemoteFile remoteFile, Path partFile, Path stateFile) throws IOException {
+        DownloadState state = DownloadState.read(stateFile);
+
+        if (state != null && state.matches(link, remoteFile.validator(), remoteFile.length())
+                && Files.isRegularFile(partFile) && Files.size(partFile) == remoteFile.length()) {
+            log.info("Resuming download of " + partFile.getFileName() + " from " + state.getReceived() + " of " + remoteFile.length() + " bytes");
+
+            return state;
+        }
+
+        long bySize = remoteFile.length() / MIN_SEGMENT_SIZE;
+
+        int segments = (int) Math.max(1, Math.min(getConnections(), bySize));
+
+        state = DownloadState.create(link, remoteFile.validator(), remoteFile.length(), segments);
+
+        try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+            file.setLength(remoteFile.length());
+        }
+
+        state.write(stateFile);
+
+        return state;
+    }
+
+    private static void downloadSingle(CloseableHttpClient httpClient, URI location, Path partFile, MessageDigest digest) throws IOException {
+        DownloadChunkEvent event = new DownloadChunkEvent(location.toString(), 0);
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            httpClient.execute(new HttpGet(location), response -> {
+                if (response.getCode() != 200) {
+                    throw new IOException("Unexpected HTTP status " + response.getCode() + " downloading " + location);
+                }
+
+                try (InputStream in = response.getEntity().getContent();
+                     OutputStream out = digest == null ? Files.newOutputStream(partFile) : new DigestOutputStream(Files.newOutputStream(partFile), digest)) {
+                    event.addBytes(in.transferTo(out));
+                }
+
+                return null;
+            });
+
+            event.setOutcome("complete");
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static void downloadRanged(CloseableHttpClient httpClient, RemoteFile remoteFile, Path partFile, Path stateFile, DownloadState state,
+                                       MessageDigest digest) throws IOException {
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            try {
+                downloadSegments(httpClient, remoteFile, channel, new Checkpoint(state, stateFile, channel), state, digest);
+
+                channel.force(false);
+            } finally {
+                if (state.getReceived() < state.getLength()) {
+                    checkpoint(partFile, stateFile, state, channel);
+                }
+            }
+        }
+    }
+
+    private static void checkpoint(Path partFile, Path stateFile, DownloadState state, FileChannel channel) throws IOException {
+        if (channel.isOpen()) {
+            state.write(stateFile, channel);
+
+            return;
+        }
+
+        // An interrupted segment closes the shared channel, forcing through another one still flushes the file
+        try (FileChannel forceChannel = FileChannel.open(partFile, StandardOpenOption.WRITE)) {
+            state.write(stateFile, forceChannel);
+        }
+    }
+
+    private static void downloadSegments(CloseableHttpClient httpClient, RemoteFile remoteFile, FileChannel channel, Checkpoint checkpoint,
+                                         DownloadState state, MessageDigest digest) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (DownloadState.Segment segment : state.getSegments()) {
+                if (segment.isComplete()) {
+                    continue;
+                }
+
+                futures.add(executor.submit(() -> {
+                    downloadSegment(httpClient, remoteFile, channel, segment, checkpoint);
+
+                    return null;
+                }));
+            }
+
+            if (digest != null) {
+                futures.add(executor.submit(() -> {
+                    hashSegments(channel, state, digest);
+
+                    return null;
+                }));
+            }
+
+            try {
+                for (Future<?> future : futures) {
+                    Futures.await(future, "downloading", IOException.class, IOException::new);
+                }
+            } catch (IOException e) {
+                executor.shutdownNow();
+
+                throw e;
+            }
+        }
+    }
+
+    private static void downloadSegment(CloseableHttpClient httpClient, RemoteFile remoteFile, FileChannel channel, DownloadState.Segment segment,
+                                        Checkpoint checkpoint) throws IOException {
+        URI location = remoteFile.location();
+
+        HttpGet request = new HttpGet(location);
+
+        request.setHeader("Range", "bytes=" + segment.getPosition() + "-" + segment.getEnd());
+
+        if (remoteFile.validator() != null) {
+            request.setHeader("If-Range", remoteFile.validator());
+        }
+
+        DownloadChunkEvent event = new DownloadChunkEvent(location.toString(), segment.getPosition());
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            downloadSegment(httpClient, location, request, channel, segment, checkpoint, event);
+
+            event.setOutcome("complete");
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static void downloadSegment(CloseableHttpClient httpClient, URI location, HttpGet request, FileChannel channel, DownloadState.Segment segment,
+                                        Checkpoint checkpoint, DownloadChunkEvent event) throws IOException {
+        httpClient.execute(request, response -> {
+            if (response.getCode() == 200) {
+                throw new RangeIgnoredException("Server ignored range request for " + location);
+            }
+
+            if (response.getCode() != 206) {
+                throw new IOException("Unexpected HTTP status " + response.getCode() + " downloading range of " + location);
+            }
+
+            HttpEntity entity = response.getEntity();
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            try (InputStream in = entity.getContent()) {
+                int read;
+
+                while (!segment.isComplete() && (read = in.read(buffer, 0, (int) Math.min(buffer.length, segment.getEnd() - segment.getPosition() + 1))) != -1) {
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+
+                    long position = segment.getPosition();
+
+                    while (byteBuffer.hasRemaining()) {
+                        position += channel.write(byteBuffer, position);
+                    }
+
+                    segment.addReceived(read);
+
+                    event.addBytes(read);
+
+                    checkpoint.record(read);
+                }
+            }
+
+            if (!segment.isComplete()) {
+                throw new IOException("Premature end of segment " + segment.getStart() + "-" + segment.getEnd() + " from " + location);
+            }
+
+            return null;
+        });
+    }
+
+    private static void hashSegments(FileChannel channel, DownloadState state, MessageDigest digest) throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        for (DownloadState.Segment segment : state.getSegments()) {
+            long hashed = segment.getStart();
+
+            while (hashed <= segment.getEnd()) {
+                long written = segment.getPosition();
+
+                if (written == hashed) {
+                    Thread.sleep(HASH_POLL_MILLIS);
+
+                    continue;
+                }
+
+                while (hashed < written) {
+                    buffer.clear().limit((int) Math.min(BUFFER_SIZE, written - hashed));
+
+                    int read = channel.read(buffer, hashed);
+
+                    if (read < 0) {
+                        throw new EOFException("Unexpected end of " + state.getLength() + " bytes download");
+                    }
+
+                    digest.update(buffer.flip());
+
+                    hashed += read;
+                }
+            }
+        }
+    }
+
+    interface StreamHandler {
+
+        void handle(InputStream in) throws IOException;
+    }
+
+    private static final class Checkpoint {
+
+        private final DownloadState state;
+
+        private final Path stateFile;
+
+        private final FileChannel channel;
+
+        private final AtomicLong unsavedBytes = new AtomicLong();
+
+        private Checkpoint(DownloadState state, Path stateFile, FileChannel channel) {
+            this.state = state;
+            this.stateFile = stateFile;
+            this.channel = channel;
+        }
+
+        void record(long bytes) throws IOException {
+            if (unsavedBytes.addAndGet(bytes) >= STATE_SAVE_INTERVAL) {
+                unsavedBytes.set(0);
+
+                state.write(stateFile, channel);
+            }
+        }
+    }
+
+    private static final class RangeIgnoredException extends IOException {
+
+        private RangeIgnoredException(String message) {
+            super(message);
+        }
+    }
+
+    private record RemoteFile(URI location, long length, boolean rangesSupported, String validator) {}
+}
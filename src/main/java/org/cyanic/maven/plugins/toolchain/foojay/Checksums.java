@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+final class Checksums {
+
+    private Checksums() {}
+
+    static MessageDigest createDigest(String checksum, String checksumType) {
+        if (checksum == null || checksum.isBlank()) {
+            return null;
+        }
+
+        String type = checksumType == null || checksumType.isBlank() ? inferType(checksum.trim()) : checksumType.trim().toLowerCase();
+
+        String algorithm = switch (type) {
+            case "sha256", "sha-256" -> "SHA-256";
+            case "sha512", "sha-512" -> "SHA-512";
+            case "sha1", "sha-1" -> "SHA-1";
+            default -> null;
+        };
+
+        if (algorithm == null) {
+            return null;
+        }
+
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static String inferType(String checksum) {
+        return switch (checksum.length()) {
+            case 40 -> "sha1";
+            case 64 -> "sha256";
+            case 128 -> "sha512";
+            default -> "";
+        };
+    }
+
+    static void update(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    static void verify(String fileName, String expected, MessageDigest digest) throws IOException {
+        String actual = HexFormat.of().formatHex(digest.digest());
+
+        if (!actual.equalsIgnoreCase(expected.trim())) {
+            throw new IOException("Checksum mismatch for " + fileName + ": expected " + expected.trim() + " but was " + actual);
+        }
+    }
+}
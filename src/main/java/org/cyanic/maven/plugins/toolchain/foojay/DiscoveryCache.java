@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.cyanic.maven.plugins.toolchain.jfr.DiscoveryRequestEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+final class DiscoveryCache {
+
+    static final String TTL_PROPERTY = "toolchain.installer.discovery.ttl";
+
+    static final long DEFAULT_TTL = 24 * 60 * 60;
+
+    static final String CACHE_DIR = ".foojay-cache";
+
+    private static final Gson GSON = new Gson();
+
+    private final Path cacheDir;
+
+    private final long ttlMillis;
+
+    DiscoveryCache(Path jdksDir) {
+        this(jdksDir, getTtl() * 1000);
+    }
+
+    DiscoveryCache(Path jdksDir, long ttlMillis) {
+        this.cacheDir = jdksDir.resolve(CACHE_DIR);
+
+        this.ttlMillis = ttlMillis;
+    }
+
+    String fetch(Log log, CloseableHttpClient httpClient, String uri) throws IOException {
+        DiscoveryRequestEvent event = new DiscoveryRequestEvent(uri);
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            return fetch(log, httpClient, uri, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private String fetch(Log log, CloseableHttpClient httpClient, String uri, DiscoveryRequestEvent event) throws IOException {
+        Path entryFile = cacheDir.resolve(key(uri) + ".json");
+
+        CacheEntry cached = read(entryFile, uri);
+
+        if (cached != null && System.currentTimeMillis() - cached.fetchedAt < ttlMillis) {
+            log.debug("Using cached Foojay response for " + uri);
+
+            event.setOutcome("cached");
+
+            return cached.body;
+        }
+
+        HttpGet request = new HttpGet(uri);
+
+        if (cached != null && cached.etag != null) {
+            request.setHeader("If-None-Match", cached.etag);
+        }
+
+        if (cached != null && cached.lastModified != null) {
+            request.setHeader("If-Modified-Since", cached.lastModified);
+        }
+
+        CacheEntry entry;
+
+        try {
+            entry = httpClient.execute(request, response -> {
+                if (response.getCode() == 304 && cached != null) {
+                    event.setOutcome("revalidated");
+
+                    return new CacheEntry(uri, cached.etag, cached.lastModified, System.currentTimeMillis(), cached.body);
+                }
+
+                if (response.getCode() != 200) {
+                    event.setOutcome("status " + response.getCode());
+
+                    return null;
+                }
+
+                event.setOutcome("fetched");
+
+                return new CacheEntry(uri, getHeader(response.getFirstHeader("ETag")), getHeader(response.getFirstHeader("Last-Modified")),
+                        System.currentTimeMillis(), EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+            });
+        } catch (IOException e) {
+            if (cached == null) {
+                throw e;
+            }
+
+            log.warn("Couldn't revalidate cached Foojay response for " + uri + ", using stale copy: " + e.getMessage());
+
+            event.setOutcome("stale");
+
+            return cached.body;
+        }
+
+        if (entry == null) {
+            return null;
+        }
+
+        write(log, entryFile, entry);
+
+        return entry.body;
+    }
+
+    static long getTtl() {
+        String ttl = System.getProperty(TTL_PROPERTY);
+
+        if (ttl == null) {
+            return DEFAULT_TTL;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(ttl.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_TTL;
+        }
+    }
+
+    private static CacheEntry read(Path entryFile, String uri) {
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+
+        try {
+            CacheEntry entry = GSON.fromJson(Files.readString(entryFile, StandardCharsets.UTF_8), CacheEntry.class);
+
+            if (entry == null || entry.body == null || !uri.equals(entry.url)) {
+                return null;
+            }
+
+            return entry;
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void write(Log log, Path entryFile, CacheEntry entry) {
+        try {
+            Files.createDirectories(cacheDir);
+
+            Path tmpFile = Files.createTempFile(cacheDir, entryFile.getFileName().toString(), ".tmp");
+
+            Files.writeString(tmpFile, GSON.toJson(entry), StandardCharsets.UTF_8);
+
+            Files.move(tmpFile, entryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Couldn't write Foojay cache entry " + entryFile + ": " + e.getMessage());
+        }
+    }
+
+    private static String getHeader(Header header) {
+        return header == null ? null : header.getValue();
+    }
+
+    private static String key(String uri) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            return HexFormat.of().formatHex(digest.digest(uri.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CacheEntry(String url, String etag, String lastModified, long fetchedAt, String body) {}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class DownloadState {
+
+    private static final Gson GSON = new Gson();
+
+    private String url;
+
+    private String etag;
+
+    private long length;
+
+    private List<Segment> segments;
+
+    static DownloadState create(String url, String etag, long length, int segmentCount) {
+        DownloadState state = new DownloadState();
+
+        state.url = url;
+
+        state.etag = etag;
+
+        state.length = length;
+
+        state.segments = new ArrayList<>();
+
+        long segmentSize = length / segmentCount;
+
+        for (int i = 0; i < segmentCount; i++) {
+            long start = i * segmentSize;
+
+            long end = i == segmentCount - 1 ? length - 1 : start + segmentSize - 1;
+
+            state.segments.add(new Segment(start, end));
+        }
+
+        return state;
+    }
+
+    static DownloadState read(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) {
+            return null;
+        }
+
+        try {
+            DownloadState state = GSON.fromJson(Files.readString(stateFile, StandardCharsets.UTF_8), DownloadState.class);
+
+            if (state == null || state.segments == null || state.segments.isEmpty()) {
+                return null;
+            }
+
+            return state;
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    synchronized void write(Path stateFile) throws IOException {
+        write(stateFile, GSON.toJson(this));
+    }
+
+    /**
+     * Persists the progress after forcing the downloaded bytes in {@code channel} to disk. The counters are captured
+     * before the force, so after a crash the state never claims bytes that didn't reach the disk.
+     */
+    void write(Path stateFile, FileChannel channel) throws IOException {
+        String json;
+
+        synchronized (this) {
+            json = GSON.toJson(this);
+        }
+
+        channel.force(false);
+
+        write(stateFile, json);
+    }
+
+    private static synchronized void write(Path stateFile, String json) throws IOException {
+        Path tmpFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+
+        Files.writeString(tmpFile, json, StandardCharsets.UTF_8);
+
+        Files.move(tmpFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    boolean matches(String url, String etag, long length) {
+        return this.url.equals(url) && Objects.equals(this.etag, etag) && this.length == length;
+    }
+
+    long getLength() {
+        return length;
+    }
+
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    long getReceived() {
+        return segments.stream().mapToLong(segment -> segment.received.get()).sum();
+    }
+
+    static final class Segment {
+
+        private final long start;
+
+        private final long end;
+
+        private final AtomicLong received = new AtomicLong();
+
+        Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long getStart() {
+            return start;
+        }
+
+        long getEnd() {
+            return end;
+        }
+
+        long getPosition() {
+            return start + received.get();
+        }
+
+        boolean isComplete() {
+            return getPosition() > end;
+        }
+
+        void addReceived(long bytes) {
+            received.addAndGet(bytes);
+        }
+    }
+}
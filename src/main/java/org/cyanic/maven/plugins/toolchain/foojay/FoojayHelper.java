@@ -17,8 +17,8 @@
 package org.cyanic.maven.plugins.toolchain.foojay;
 
 import org.apache.maven.plugin.logging.Log;
-import org.apache.maven.settings.Proxy;
 import org.apache.maven.toolchain.ToolchainPrivate;
+import org.cyanic.maven.plugins.toolchain.version.VersionRequirement;
 
 import java.nio.file.Path;
 
@@ -28,9 +28,9 @@ public final class FoojayHelper {
 
     private FoojayHelper() {}
 
-    public static ToolchainPrivate getJdkFromFoojay(Log log, Proxy proxySettings, String version, String vendor) {
+    public static ToolchainPrivate getJdkFromFoojay(Log log, FoojayHttpClient httpClient, String version, String vendor) {
         try {
-            Path jdkHome = FoojayService.downloadAndExtractJdk(log, proxySettings, version, vendor);
+            Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, version, vendor);
 
             if (jdkHome != null) {
                 log.info("Adding JDK to toolchains.xml");
@@ -45,4 +45,63 @@ public final class FoojayHelper {
 
         return null;
     }
+
+    public static ToolchainPrivate getJdkFromLock(Log log, FoojayHttpClient httpClient, ToolchainLock lock, String version, String vendor, boolean offline) {
+        String installVersion = getInstallVersion(version);
+
+        try {
+            FoojayPackage lockedPackage = lock.getPackage(vendor, version);
+
+            if (lockedPackage == null) {
+                log.error("The toolchains lockfile pins " + vendor + " " + version + " but not for " + FoojayService.getPlatform()
+                        + ", please run the lock goal including this platform");
+
+                return null;
+            }
+
+            Path jdkHome = offline
+                    ? FoojayService.findInstalledJdk(log, installVersion, vendor, lockedPackage)
+                    : FoojayService.downloadAndExtractJdk(log, httpClient, installVersion, vendor, lockedPackage);
+
+            if (jdkHome != null) {
+                log.info("Adding JDK to toolchains.xml");
+
+                return addJDKToToolchains(jdkHome, installVersion, vendor);
+            }
+        } catch (Exception e) {
+            log.error("Failed to install JDK pinned in the toolchains lockfile", e);
+        }
+
+        log.info("Couldn't install JDK pinned in the toolchains lockfile");
+
+        return null;
+    }
+
+    public static ToolchainPrivate getJdkFromLocalIndex(Log log, String version, String vendor) {
+        try {
+            Path jdkHome = FoojayService.findInstalledJdk(log, version, vendor);
+
+            if (jdkHome != null) {
+                log.info("Adding JDK to toolchains.xml");
+
+                return addJDKToToolchains(jdkHome, version, vendor);
+            }
+        } catch (Exception e) {
+            log.error("Failed to read locally installed JDKs", e);
+        }
+
+        log.info("JDK not found in local package index");
+
+        return null;
+    }
+
+    static String getInstallVersion(String version) {
+        VersionRequirement requirement = VersionRequirement.parse(version);
+
+        if (requirement == null || requirement.getDownloadVersion() == null) {
+            return version;
+        }
+
+        return requirement.getDownloadVersion();
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.hc.client5.http.auth.AuthScope;
+import org.apache.hc.client5.http.auth.Credentials;
+import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.settings.Proxy;
+import org.eclipse.aether.RepositorySystemSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FoojayHttpClient implements AutoCloseable {
+
+    static final String CONNECT_TIMEOUT_PROPERTY = "toolchain.installer.http.connect.timeout";
+
+    static final String READ_TIMEOUT_PROPERTY = "toolchain.installer.http.read.timeout";
+
+    static final int DEFAULT_CONNECT_TIMEOUT = 30;
+
+    static final String LEASE_TIMEOUT_PROPERTY = "toolchain.installer.http.lease.timeout";
+
+    static final int DEFAULT_READ_TIMEOUT = 60;
+
+    static final int DEFAULT_LEASE_TIMEOUT = 30 * 60;
+
+    private static final String SESSION_KEY = FoojayHttpClient.class.getName();
+
+    private final Proxy proxy;
+
+    private final Map<ClientKey, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+
+    FoojayHttpClient(Proxy proxy) {
+        this.proxy = proxy;
+    }
+
+    /**
+     * Returns the HTTP clients shared by every download of the build session, created with the session's active proxy.
+     * They're closed by {@link #closeSession} when the session ends. Without that hook, they're dropped with the
+     * session, since they run no background threads.
+     */
+    public static FoojayHttpClient forSession(MavenSession session) {
+        Proxy proxy = session.getSettings() == null ? null : session.getSettings().getActiveProxy();
+
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+
+        if (repositorySession == null) {
+            return new FoojayHttpClient(proxy);
+        }
+
+        return (FoojayHttpClient) repositorySession.getData().computeIfAbsent(SESSION_KEY, () -> new FoojayHttpClient(proxy));
+    }
+
+    public static void closeSession(MavenSession session) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+
+        if (repositorySession == null) {
+            return;
+        }
+
+        Object httpClient = repositorySession.getData().get(SESSION_KEY);
+
+        if (httpClient instanceof FoojayHttpClient foojayHttpClient && repositorySession.getData().set(SESSION_KEY, httpClient, null)) {
+            foojayHttpClient.close();
+        }
+    }
+
+    public Proxy getProxy() {
+        return proxy;
+    }
+
+    CloseableHttpClient get() {
+        ClientKey key = new ClientKey(
+                getTimeout(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT),
+                getTimeout(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT),
+                getTimeout(LEASE_TIMEOUT_PROPERTY, DEFAULT_LEASE_TIMEOUT),
+                ArchiveDownloader.getConnections());
+
+        return clients.computeIfAbsent(key, this::build);
+    }
+
+    @Override
+    public void close() {
+        clients.values().forEach(client -> client.close(CloseMode.GRACEFUL));
+
+        clients.clear();
+    }
+
+    static int getTimeout(String property, int defaultSeconds) {
+        String timeout = System.getProperty(property);
+
+        if (timeout == null) {
+            return defaultSeconds;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(timeout.trim()));
+        } catch (NumberFormatException e) {
+            return defaultSeconds;
+        }
+    }
+
+    /**
+     * The pool allows as many connections per host as one download uses segments. Toolchains installed concurrently
+     * share them, so their segments queue for a lease while other downloads finish, which can take as long as a whole
+     * JDK download on a slow link. The lease timeout is therefore much longer than the read timeout; a stalled
+     * connection holding a lease is already bounded by the read timeout.
+     */
+    private CloseableHttpClient build(ClientKey key) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(key.connectTimeout()))
+                .setSocketTimeout(Timeout.ofSeconds(key.readTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom();
+
+        builder.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                .setDefaultConnectionConfig(connectionConfig)
+                .setMaxConnPerRoute(key.connections())
+                .setMaxConnTotal(key.connections() * 2)
+                .build());
+
+        builder.setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofSeconds(key.leaseTimeout()))
+                .setResponseTimeout(Timeout.ofSeconds(key.readTimeout()))
+                .build());
+
+        if (proxy != null) {
+            builder.setProxy(new HttpHost(proxy.getHost(), proxy.getPort()));
+
+            if (proxy.getUsername() != null) {
+                Credentials credentials = new UsernamePasswordCredentials(proxy.getUsername(),
+                        proxy.getPassword() == null ? new char[0] : proxy.getPassword().toCharArray());
+
+                AuthScope authScope = new AuthScope(proxy.getHost(), proxy.getPort());
+
+                BasicCredentialsProvider credsProvider = new BasicCredentialsProvider();
+
+                credsProvider.setCredentials(authScope, credentials);
+
+                builder.setDefaultCredentialsProvider(credsProvider);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private record ClientKey(int connectTimeout, int readTimeout, int leaseTimeout, int connections) {}
+}
@@ -19,74 +19,214 @@ package org.cyanic.maven.plugins.toolchain.foojay;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import org.apache.commons.compress.archivers.ArchiveEntry;
-import org.apache.commons.compress.archivers.ArchiveInputStream;
-import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
-import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.io.FileUtils;
-import org.apache.hc.client5.http.auth.AuthScope;
-import org.apache.hc.client5.http.auth.Credentials;
-import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
-import org.apache.hc.client5.http.classic.methods.HttpGet;
-import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.HttpHost;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.maven.plugin.logging.Log;
-import org.apache.maven.settings.Proxy;
-import org.codehaus.plexus.archiver.AbstractUnArchiver;
-import org.codehaus.plexus.archiver.tar.TarGZipUnArchiver;
-import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
+import org.cyanic.maven.plugins.toolchain.archive.ExtractionBackends;
+import org.cyanic.maven.plugins.toolchain.local.ReleaseFile;
+import org.cyanic.maven.plugins.toolchain.metrics.Phase;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
 
-import java.io.File;
-import java.net.URI;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Locale;
 
 public final class FoojayService {
 
     private static final String JDK_PATH_PROPERTY = "jdk.home";
 
+    static final String STREAMING_PROPERTY = "toolchain.installer.download.streaming";
+
+    static final String BASE_URL_PROPERTY = "toolchain.installer.foojay.url";
+
+    static final String DEFAULT_BASE_URL = "https://api.foojay.io/disco/v3.0";
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    static final String INSTALLED_MARKER = ".toolchain-installer.complete";
+
+    private static final Gson GSON = new Gson();
+
     private FoojayService() {}
 
-    public static Path downloadAndExtractJdk(Log log, Proxy proxySettings, String version, String vendor) throws Exception {
-        String[] fileNameAndDownloadUrl = parseFileNameAndDownloadUrl(log, proxySettings, version, vendor);
+    public static Path downloadAndExtractJdk(Log log, FoojayHttpClient httpClient, String version, String vendor) throws Exception {
+        return downloadAndExtractJdk(log, httpClient.get(), version, vendor, null);
+    }
 
-        if (fileNameAndDownloadUrl == null) {
+    public static Path findInstalledJdk(Log log, String version, String vendor) {
+        return findInstalledJdk(log, version, vendor, null);
+    }
+
+    static Path downloadAndExtractJdk(Log log, FoojayHttpClient httpClient, String version, String vendor, FoojayPackage lockedPackage) throws Exception {
+        return downloadAndExtractJdk(log, httpClient.get(), version, vendor, lockedPackage);
+    }
+
+    static Path findInstalledJdk(Log log, String version, String vendor, FoojayPackage lockedPackage) {
+        Path jdksDir = getJdksDir();
+
+        Path jdkHome = lockedPackage == null ? findUnpinnedJdk(jdksDir, version, vendor) : findPinnedJdk(log, jdksDir, version, vendor, lockedPackage);
+
+        if (jdkHome == null) {
             return null;
         }
 
-        String jdkFileName = fileNameAndDownloadUrl[0];
+        log.info("JDK already present at " + jdkHome.toAbsolutePath() + ", no need to download again");
 
-        String downloadUrl = fileNameAndDownloadUrl[1];
+        return getJavaHome(jdkHome);
+    }
 
-        Path jdksDir;
+    private static Path findUnpinnedJdk(Path jdksDir, String version, String vendor) {
+        Path jdkHome = LocalPackageIndex.find(jdksDir, vendor, version);
 
-        String jdkPath = System.getProperty(JDK_PATH_PROPERTY);
+        if (jdkHome == null && isComplete(jdksDir.resolve(vendor).resolve(version))) {
+            jdkHome = jdksDir.resolve(vendor).resolve(version);
+        }
 
-        if (jdkPath == null) {
-            Path userHome = Paths.get(System.getProperty("user.home"));
+        return jdkHome;
+    }
 
-            jdksDir = userHome.resolve(".m2").resolve("jdks");
-        } else {
-            jdksDir = Paths.get(jdkPath);
+    private static Path findPinnedJdk(Log log, Path jdksDir, String version, String vendor, FoojayPackage lockedPackage) {
+        Path jdkHome = LocalPackageIndex.find(jdksDir, vendor, version, lockedPackage.fileName());
+
+        if (jdkHome != null) {
+            return jdkHome;
         }
 
-        if (!jdksDir.toFile().exists()) {
-            jdksDir.toFile().mkdir();
+        Path sharedDir = jdksDir.resolve(vendor).resolve(version);
+
+        if (isComplete(sharedDir) && !LocalPackageIndex.isRecorded(jdksDir, sharedDir) && isReleaseOf(getJavaHome(sharedDir), lockedPackage)) {
+            log.debug("JDK at " + sharedDir + " was installed before it was pinned, recording it as " + lockedPackage.fileName());
+
+            try {
+                LocalPackageIndex.record(log, jdksDir, vendor, version, lockedPackage, sharedDir);
+            } catch (IOException e) {
+                log.warn("Couldn't update local package index: " + e.getMessage());
+            }
+
+            return sharedDir;
         }
 
-        Path jdkHome = downloadAndExtract(log, downloadUrl, version, vendor, jdkFileName, jdksDir);
+        Path pinnedDir = getPinnedDir(sharedDir, lockedPackage);
+
+        return isComplete(pinnedDir) ? pinnedDir : null;
+    }
 
-        if (jdkHome.resolve("Contents").resolve("Home").toFile().exists()) {
-            jdkHome = jdkHome.resolve("Contents").resolve("Home");
+    /**
+     * Whether the JDK's {@code release} file names the Java version in the pinned archive's file name, such as
+     * {@code 21.0.4} in {@code OpenJDK21U-jdk_x64_linux_hotspot_21.0.4_7.tar.gz}. Any doubt counts as a mismatch, which
+     * only costs a download into a separate directory.
+     */
+    static boolean isReleaseOf(Path javaHome, FoojayPackage lockedPackage) {
+        ReleaseFile release = ReleaseFile.read(javaHome);
+
+        if (release == null || release.javaVersion() == null || release.javaVersion().isEmpty()) {
+            return false;
         }
 
+        String fileName = lockedPackage.fileName();
+
+        String javaVersion = release.javaVersion();
+
+        for (int index = fileName.indexOf(javaVersion); index >= 0; index = fileName.indexOf(javaVersion, index + 1)) {
+            int end = index + javaVersion.length();
+
+            boolean startsToken = index == 0 || !Character.isDigit(fileName.charAt(index - 1)) && fileName.charAt(index - 1) != '.';
+
+            boolean endsToken = end == fileName.length() || !Character.isLetterOrDigit(fileName.charAt(end))
+                    && !(fileName.charAt(end) == '.' && end + 1 < fileName.length() && Character.isDigit(fileName.charAt(end + 1)));
+
+            if (startsToken && endsToken) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Path getPinnedDir(Path sharedDir, FoojayPackage lockedPackage) {
+        String fileName = lockedPackage.fileName();
+
+        for (String extension : new String[]{".tar.gz", ".tgz", ".zip"}) {
+            if (fileName.endsWith(extension)) {
+                fileName = fileName.substring(0, fileName.length() - extension.length());
+            }
+        }
+
+        return sharedDir.resolveSibling(sharedDir.getFileName() + "-" + fileName);
+    }
+
+    static FoojayPackage findPackage(Log log, FoojayHttpClient httpClient, DiscoveryCache discoveryCache, String version, String vendor, String platform) {
+        int separator = platform.indexOf('-');
+
+        if (separator < 0) {
+            log.error("Invalid platform " + platform + ", expected <os>-<arch> such as linux-x64");
+
+            return null;
+        }
+
+        return ProvisioningMetrics.time(Phase.FOOJAY_DISCOVERY, () -> parsePackage(log, httpClient.get(), discoveryCache, version, vendor,
+                platform.substring(0, separator), platform.substring(separator + 1)));
+    }
+
+    static String getPlatform() {
+        return getOsName() + "-" + getArchName();
+    }
+
+    private static Path downloadAndExtractJdk(Log log, CloseableHttpClient httpClient, String version, String vendor, FoojayPackage lockedPackage) throws Exception {
+        Path installedJdk = findInstalledJdk(log, version, vendor, lockedPackage);
+
+        if (installedJdk != null) {
+            return installedJdk;
+        }
+
+        Path jdksDir = getJdksDir();
+
+        Path installDir = jdksDir.resolve(vendor).resolve(version);
+
+        if (lockedPackage != null && isComplete(installDir)) {
+            // The shared directory holds another build of this version that other builds and IDEs may be running from
+            installDir = getPinnedDir(installDir, lockedPackage);
+        }
+
+        try (InstallLock lock = InstallLock.acquire(log, installDir.resolveSibling("." + installDir.getFileName() + LOCK_SUFFIX))) {
+            installedJdk = findInstalledJdk(log, version, vendor, lockedPackage);
+
+            if (installedJdk != null) {
+                return installedJdk;
+            }
+
+            FoojayPackage foojayPackage = lockedPackage;
+
+            if (foojayPackage == null) {
+                DiscoveryCache discoveryCache = new DiscoveryCache(jdksDir);
+
+                foojayPackage = ProvisioningMetrics.time(Phase.FOOJAY_DISCOVERY,
+                        () -> parsePackage(log, httpClient, discoveryCache, version, vendor, getOsName(), getArchName()));
+            } else {
+                log.info("Using " + foojayPackage.fileName() + " pinned in the toolchains lockfile");
+            }
+
+            if (foojayPackage == null) {
+                return null;
+            }
+
+            downloadAndExtract(log, httpClient, foojayPackage, installDir, jdksDir);
+
+            try {
+                LocalPackageIndex.record(log, jdksDir, vendor, version, foojayPackage, installDir);
+            } catch (IOException e) {
+                log.warn("Couldn't update local package index: " + e.getMessage());
+            }
+        }
+
+        Path jdkHome = getJavaHome(installDir);
+
         if (vendor.contains("graalvm")) {
             Path guBin = jdkHome.resolve("bin").resolve("gu");
 
@@ -100,35 +240,44 @@ public final class FoojayService {
         return jdkHome;
     }
 
-    private static CloseableHttpClient buildHttpClient(Proxy proxy) {
-        if (proxy != null) {
-            HttpClientBuilder builder = HttpClients.custom();
+    static boolean isComplete(Path installDir) {
+        if (Files.exists(installDir.resolve(INSTALLED_MARKER))) {
+            return true;
+        }
 
-            builder.setProxy(new HttpHost(proxy.getHost(), proxy.getPort()));
+        return Files.exists(installDir.resolve("release")) || Files.exists(installDir.resolve("Contents").resolve("Home").resolve("release"));
+    }
 
-            if (proxy.getUsername() != null) {
-                Credentials credentials = new UsernamePasswordCredentials(proxy.getUsername(), proxy.getPassword().toCharArray());
+    private static Path getJavaHome(Path installDir) {
+        if (installDir.resolve("Contents").resolve("Home").toFile().exists()) {
+            return installDir.resolve("Contents").resolve("Home");
+        }
 
-                AuthScope authScope = new AuthScope(proxy.getHost(), proxy.getPort());
+        return installDir;
+    }
 
-                BasicCredentialsProvider credsProvider = new BasicCredentialsProvider();
+    public static Path getJdksDir() {
+        Path jdksDir;
 
-                credsProvider.setCredentials(authScope, credentials);
+        String jdkPath = System.getProperty(JDK_PATH_PROPERTY);
 
-                builder.setDefaultCredentialsProvider(credsProvider);
-            }
+        if (jdkPath == null) {
+            Path userHome = Paths.get(System.getProperty("user.home"));
 
-            return builder.build();
+            jdksDir = userHome.resolve(".m2").resolve("jdks");
+        } else {
+            jdksDir = Paths.get(jdkPath);
         }
 
-        return HttpClients.createDefault();
-    }
-
-    private static String[] parseFileNameAndDownloadUrl(Log log, Proxy proxySettings, String version, String vendor) {
-        String os = getOsName();
+        if (!jdksDir.toFile().exists()) {
+            jdksDir.toFile().mkdir();
+        }
 
-        String archName = getArchName();
+        return jdksDir;
+    }
 
+    private static FoojayPackage parsePackage(Log log, CloseableHttpClient httpClient, DiscoveryCache discoveryCache, String version, String vendor,
+                                              String os, String archName) {
         String archiveType = os.equals("windows") ? "zip" : "tar.gz";
 
         String bitness = archName.equals("x32") ? "32" : "64";
@@ -140,9 +289,9 @@ public final class FoojayService {
             default -> "";
         };
 
-        String queryUrl = "https://api.foojay.io/disco/v3.0/packages?"
-                + "distribution=" + vendor
-                + "&version=" + version
+        String queryUrl = getBaseUrl() + "/packages?"
+                + "distribution=" + vendor.trim().toLowerCase(Locale.ROOT)
+                + "&version=" + version.trim()
                 + "&operating_system=" + os
                 + "&architecture=" + archName
                 + "&bitness=" + bitness
@@ -150,32 +299,30 @@ public final class FoojayService {
                 + "&libc_type=" + libcType
                 + "&latest=overall&package_type=jdk&discovery_scope_id=directly_downloadable&match=any&javafx_bundled=false&directly_downloadable=true";
 
-        HttpGet request = new HttpGet(queryUrl);
+        try {
+            JsonObject pkgJson = getJson(log, httpClient, discoveryCache, queryUrl);
 
-        try (CloseableHttpClient httpClient = buildHttpClient(proxySettings)) {
-            CloseableHttpResponse response = httpClient.execute(request);
-
-            if (response.getCode() == 200) {
-                Gson gson = new Gson();
-
-                JsonObject jsonObject = gson.fromJson(EntityUtils.toString(response.getEntity()), JsonElement.class).getAsJsonObject();
-
-                JsonObject pkgJson = jsonObject.getAsJsonArray("result").get(0).getAsJsonObject();
+            if (pkgJson == null) {
+                return null;
+            }
 
-                String pkgInfoUri = pkgJson.getAsJsonObject("links").get("pkg_info_uri").getAsString();
+            String pkgInfoUri = pkgJson.getAsJsonObject("links").get("pkg_info_uri").getAsString();
 
-                HttpGet pkgInfoGet = new HttpGet(pkgInfoUri);
+            JsonObject pkgInfo = getJson(log, httpClient, discoveryCache, pkgInfoUri);
 
-                CloseableHttpResponse pkgInfoResponse = httpClient.execute(pkgInfoGet);
+            if (pkgInfo == null) {
+                return null;
+            }
 
-                if (pkgInfoResponse.getCode() == 200) {
-                    JsonObject pkgInfoJson = gson.fromJson(EntityUtils.toString(pkgInfoResponse.getEntity()), JsonElement.class).getAsJsonObject();
+            String downloadUrl = pkgInfo.get("direct_download_uri").getAsString();
 
-                    String downloadUrl = pkgInfoJson.getAsJsonArray("result").get(0).getAsJsonObject().get("direct_download_uri").getAsString();
+            String checksum = getString(pkgInfo, "checksum");
 
-                    return new String[]{pkgJson.get("filename").getAsString(), downloadUrl};
-                }
+            if (checksum.isEmpty() && !getString(pkgInfo, "checksum_uri").isEmpty()) {
+                checksum = fetchChecksum(log, httpClient, discoveryCache, getString(pkgInfo, "checksum_uri"));
             }
+
+            return new FoojayPackage(getString(pkgJson, "id"), pkgJson.get("filename").getAsString(), downloadUrl, checksum, getString(pkgInfo, "checksum_type"));
         } catch (Exception e) {
             log.error("Error to parse response from " + queryUrl, e);
         }
@@ -183,7 +330,49 @@ public final class FoojayService {
         return null;
     }
 
-    private static String getOsName() {
+    static String getBaseUrl() {
+        String baseUrl = System.getProperty(BASE_URL_PROPERTY);
+
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return DEFAULT_BASE_URL;
+        }
+
+        baseUrl = baseUrl.trim();
+
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    private static JsonObject getJson(Log log, CloseableHttpClient httpClient, DiscoveryCache discoveryCache, String uri) throws IOException {
+        String body = discoveryCache.fetch(log, httpClient, uri);
+
+        if (body == null) {
+            return null;
+        }
+
+        JsonObject jsonObject = GSON.fromJson(body, JsonElement.class).getAsJsonObject();
+
+        return jsonObject.getAsJsonArray("result").get(0).getAsJsonObject();
+    }
+
+    private static String getString(JsonObject jsonObject, String key) {
+        JsonElement element = jsonObject.get(key);
+
+        return element == null || element.isJsonNull() ? "" : element.getAsString().trim();
+    }
+
+    private static String fetchChecksum(Log log, CloseableHttpClient httpClient, DiscoveryCache discoveryCache, String checksumUri) {
+        try {
+            String content = discoveryCache.fetch(log, httpClient, checksumUri);
+
+            return content == null || content.isBlank() ? "" : content.trim().split("\\s+")[0];
+        } catch (Exception e) {
+            log.warn("Couldn't fetch checksum from " + checksumUri + ": " + e.getMessage());
+
+            return "";
+        }
+    }
+
+    static String getOsName() {
         String os = System.getProperty("os.name").toLowerCase();
 
         if (os.contains("mac")) {
@@ -195,7 +384,7 @@ public final class FoojayService {
         }
     }
 
-    private static String getArchName() {
+    static String getArchName() {
         String arch = System.getProperty("os.arch").toLowerCase();
 
         if (arch.contains("x86_32") || arch.contains("amd32")) {
@@ -209,85 +398,126 @@ public final class FoojayService {
         return arch;
     }
 
-    private static Path downloadAndExtract(Log log, String link, String jdkVersion, String jdkVendor, String fileName, Path destDir) throws Exception {
-        Path jdkHome = destDir.resolve(jdkVendor).resolve(jdkVersion);
+    private static void downloadAndExtract(Log log, CloseableHttpClient httpClient, FoojayPackage foojayPackage, Path installDir, Path destDir) throws Exception {
+        if (isComplete(installDir)) {
+            throw new IOException("Refusing to replace the JDK installed at " + installDir.toAbsolutePath() + ", it may be in use");
+        }
 
-        if (jdkHome.toFile().exists()) {
-            log.info("JDK already present at " + jdkHome.toAbsolutePath() + ", no need to download again");
+        if (Files.exists(installDir)) {
+            log.warn("Removing incomplete JDK installation at " + installDir.toAbsolutePath());
 
-            return jdkHome;
+            FileUtils.deleteDirectory(installDir.toFile());
         }
 
-        log.info("Downloading JDK " + jdkVendor + " " + jdkVersion + " from Foojay");
+        deleteStaleStagingDirs(installDir);
+
+        log.info("Downloading JDK " + installDir.getParent().getFileName() + " " + installDir.getFileName() + " from Foojay");
 
-        File destFile = destDir.resolve(fileName).toFile();
+        String fileName = foojayPackage.fileName();
 
-        if (!destFile.exists()) {
-            log.debug("Downloading " + link);
+        String link = foojayPackage.downloadUrl();
 
-            FileUtils.copyURLToFile(new URI(link).toURL(), destFile);
+        MessageDigest digest = Checksums.createDigest(foojayPackage.checksum(), foojayPackage.checksumType());
+
+        if (digest == null) {
+            log.warn("No supported checksum published for " + fileName + ", skipping verification");
         }
 
-        log.debug("Extracting " + fileName);
+        Path stagingDir = Files.createTempDirectory(installDir.getParent(), getStagingPrefix(installDir));
 
-        String extractDir = getRootNameInArchive(destFile);
+        try {
+            if (Boolean.getBoolean(STREAMING_PROPERTY)) {
+                ProvisioningMetrics.time(Phase.DOWNLOAD, () -> {
+                    ArchiveDownloader.stream(log, httpClient, link, digest, in -> {
+                        BoundedInputStream countingIn = BoundedInputStream.builder().setInputStream(ProvisioningMetrics.timeReads(Phase.DOWNLOAD, in)).get();
 
-        extractArchiveFile(destFile, destDir.toFile());
+                        try {
+                            ProvisioningMetrics.time(Phase.EXTRACTION, () -> {
+                                ExtractionBackends.extract(log, countingIn, fileName, stagingDir);
 
-        destFile.delete();
+                                return null;
+                            });
+                        } finally {
+                            ProvisioningMetrics.addBytes(Phase.DOWNLOAD, countingIn.getCount());
 
-        FileUtils.moveDirectory(destDir.resolve(extractDir).toFile(), jdkHome.toFile());
+                            ProvisioningMetrics.addBytes(Phase.EXTRACTION, countingIn.getCount());
+                        }
+                    });
 
-        log.info("JDK downloaded: " + jdkHome.toAbsolutePath());
+                    return null;
+                });
 
-        return jdkHome;
-    }
+                if (digest != null) {
+                    Checksums.verify(fileName, foojayPackage.checksum(), digest);
+                }
+            } else {
+                downloadAndExtractFile(log, httpClient, foojayPackage, digest, destDir.resolve(fileName), stagingDir);
+            }
 
-    private static String getRootNameInArchive(File archiveFile) throws Exception {
-        ArchiveInputStream<?> archiveInputStream;
+            Files.createFile(stagingDir.resolve(INSTALLED_MARKER));
 
-        if (archiveFile.getName().endsWith("tar.gz") || archiveFile.getName().endsWith("tgz")) {
-            archiveInputStream = new TarArchiveInputStream(new GzipCompressorInputStream(Files.newInputStream(archiveFile.toPath())));
-        } else {
-            archiveInputStream = new ZipArchiveInputStream(Files.newInputStream(archiveFile.toPath()));
+            Files.move(stagingDir, installDir, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileUtils.deleteDirectory(stagingDir.toFile());
         }
 
-        String rootName = null;
-        ArchiveEntry entry;
+        log.info("JDK downloaded: " + installDir.toAbsolutePath());
+    }
 
-        while ((entry = archiveInputStream.getNextEntry()) != null) {
-            String entryName = entry.getName();
+    private static String getStagingPrefix(Path installDir) {
+        return "." + installDir.getFileName() + ".staging-";
+    }
 
-            String[] parts = entryName.split("/");
+    private static void deleteStaleStagingDirs(Path installDir) throws IOException {
+        if (!Files.isDirectory(installDir.getParent())) {
+            return;
+        }
 
-            if (parts.length > 0) {
-                rootName = parts[0];
-                break;
+        try (DirectoryStream<Path> stagingDirs = Files.newDirectoryStream(installDir.getParent(), getStagingPrefix(installDir) + "*")) {
+            for (Path stagingDir : stagingDirs) {
+                FileUtils.deleteDirectory(stagingDir.toFile());
             }
         }
-
-        archiveInputStream.close();
-
-        return rootName;
     }
 
-    private static void extractArchiveFile(File sourceFile, File destDir) {
-        String fileName = sourceFile.getName();
+    private static void downloadAndExtractFile(Log log, CloseableHttpClient httpClient, FoojayPackage foojayPackage, MessageDigest digest,
+                                               Path destFile, Path stagingDir) throws IOException {
+        // Requirements such as "21" and "21.0" take different install locks but may resolve to the same archive, so
+        // the archive and its partial download in the shared jdks directory are guarded by a lock of their own
+        try (InstallLock archiveLock = InstallLock.acquire(log, destFile.resolveSibling("." + destFile.getFileName() + LOCK_SUFFIX))) {
+            try {
+                if (Files.exists(destFile)) {
+                    if (digest != null) {
+                        Checksums.update(digest, destFile);
+                    }
+                } else {
+                    log.debug("Downloading " + foojayPackage.downloadUrl());
+
+                    ProvisioningMetrics.time(Phase.DOWNLOAD, () -> {
+                        ArchiveDownloader.download(log, httpClient, foojayPackage.downloadUrl(), destFile, digest);
+
+                        return null;
+                    });
+
+                    ProvisioningMetrics.addBytes(Phase.DOWNLOAD, Files.size(destFile));
+                }
 
-        AbstractUnArchiver unArchiver;
+                if (digest != null) {
+                    Checksums.verify(foojayPackage.fileName(), foojayPackage.checksum(), digest);
 
-        if (fileName.endsWith(".tgz") || fileName.endsWith(".tar.gz")) {
-            unArchiver = new TarGZipUnArchiver();
-        } else {
-            unArchiver = new ZipUnArchiver();
-        }
-
-        unArchiver.setSourceFile(sourceFile);
+                    log.debug("Checksum verified for " + foojayPackage.fileName());
+                }
 
-        unArchiver.setDestDirectory(destDir);
+                ProvisioningMetrics.time(Phase.EXTRACTION, () -> {
+                    ExtractionBackends.extract(log, destFile, stagingDir);
 
-        unArchiver.setOverwrite(true);
+                    return null;
+                });
 
-        unArchiver.extract();
+                ProvisioningMetrics.addBytes(Phase.EXTRACTION, Files.size(destFile));
+            } finally {
+                Files.deleteIfExists(destFile);
+            }
+        }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class InstallLock implements AutoCloseable {
+
+    private static final Map<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final ReentrantLock jvmLock;
+
+    private final FileChannel channel;
+
+    private final FileLock fileLock;
+
+    private InstallLock(ReentrantLock jvmLock, FileChannel channel, FileLock fileLock) {
+        this.jvmLock = jvmLock;
+        this.channel = channel;
+        this.fileLock = fileLock;
+    }
+
+    static InstallLock acquire(Log log, Path lockFile) throws IOException {
+        Path path = lockFile.toAbsolutePath().normalize();
+
+        ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(path, key -> new ReentrantLock());
+
+        if (!jvmLock.tryLock()) {
+            log.info("Waiting for another build thread holding " + path);
+
+            jvmLock.lock();
+        }
+
+        FileChannel channel = null;
+
+        try {
+            Files.createDirectories(path.getParent());
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+            FileLock fileLock = channel.tryLock();
+
+            if (fileLock == null) {
+                log.info("Waiting for another process holding " + path);
+
+                fileLock = channel.lock();
+            }
+
+            return new InstallLock(jvmLock, channel, fileLock);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+
+            jvmLock.unlock();
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            try {
+                fileLock.release();
+            } finally {
+                channel.close();
+            }
+        } finally {
+            jvmLock.unlock();
+        }
+    }
+}
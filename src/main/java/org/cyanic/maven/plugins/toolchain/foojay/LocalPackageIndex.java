@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+final class LocalPackageIndex {
+
+    static final String INDEX_FILE = "index.json";
+
+    private static final String LOCK_FILE = ".index.lock";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private List<Entry> packages = new ArrayList<>();
+
+    private LocalPackageIndex() {}
+
+    static Path find(Path jdksDir, String vendor, String version) {
+        return find(jdksDir, vendor, version, null);
+    }
+
+    /**
+     * Finds the most recently installed JDK recorded for the vendor and version, restricted to the given archive
+     * when {@code fileName} is not null.
+     */
+    static Path find(Path jdksDir, String vendor, String version, String fileName) {
+        List<Entry> packages = read(jdksDir).packages;
+
+        for (int i = packages.size() - 1; i >= 0; i--) {
+            Entry entry = packages.get(i);
+
+            if (entry.matches(vendor, version) && (fileName == null || fileName.equals(entry.fileName()))) {
+                Path jdkHome = jdksDir.resolve(entry.path()).normalize();
+
+                if (Files.isDirectory(jdkHome)) {
+                    return jdkHome;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    static boolean isRecorded(Path jdksDir, Path jdkHome) {
+        String path = getRelativePath(jdksDir, jdkHome);
+
+        return read(jdksDir).packages.stream().anyMatch(entry -> entry.path().equals(path));
+    }
+
+    static void record(Log log, Path jdksDir, String vendor, String version, FoojayPackage foojayPackage, Path jdkHome) throws IOException {
+        try (InstallLock lock = InstallLock.acquire(log, jdksDir.resolve(LOCK_FILE))) {
+            write(jdksDir, vendor, version, foojayPackage, jdkHome);
+        }
+    }
+
+    private static void write(Path jdksDir, String vendor, String version, FoojayPackage foojayPackage, Path jdkHome) throws IOException {
+        LocalPackageIndex index = read(jdksDir);
+
+        String path = getRelativePath(jdksDir, jdkHome);
+
+        index.packages.removeIf(entry -> entry.path().equals(path));
+
+        index.packages.add(new Entry(vendor, version, path, foojayPackage.fileName(), foojayPackage.checksum(), System.currentTimeMillis()));
+
+        Path tmpFile = Files.createTempFile(jdksDir, INDEX_FILE, ".tmp");
+
+        Files.writeString(tmpFile, GSON.toJson(index), StandardCharsets.UTF_8);
+
+        Files.move(tmpFile, jdksDir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String getRelativePath(Path jdksDir, Path jdkHome) {
+        return jdksDir.toAbsolutePath().relativize(jdkHome.toAbsolutePath()).normalize().toString().replace('\\', '/');
+    }
+
+    private static LocalPackageIndex read(Path jdksDir) {
+        Path indexFile = jdksDir.resolve(INDEX_FILE);
+
+        if (!Files.isRegularFile(indexFile)) {
+            return new LocalPackageIndex();
+        }
+
+        try {
+            LocalPackageIndex index = GSON.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), LocalPackageIndex.class);
+
+            if (index == null || index.packages == null) {
+                return new LocalPackageIndex();
+            }
+
+            index.packages.removeIf(entry -> entry == null || entry.vendor() == null || entry.version() == null || entry.path() == null);
+
+            return index;
+        } catch (IOException | JsonParseException e) {
+            return new LocalPackageIndex();
+        }
+    }
+
+    private record Entry(String vendor, String version, String path, String fileName, String checksum, long installedAt) {
+
+        boolean matches(String vendor, String version) {
+            return this.vendor.equalsIgnoreCase(vendor.trim()) && this.version.equals(version.trim());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class ToolchainLock {
+
+    public static final String LOCK_FILE = "toolchains.lock";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private List<Entry> toolchains = new ArrayList<>();
+
+    private ToolchainLock() {}
+
+    public static ToolchainLock read(Path lockFile) throws IOException {
+        try {
+            ToolchainLock lock = GSON.fromJson(Files.readString(lockFile, StandardCharsets.UTF_8), ToolchainLock.class);
+
+            if (lock == null || lock.toolchains == null) {
+                throw new IOException("No toolchains found in " + lockFile);
+            }
+
+            lock.toolchains.removeIf(entry -> entry == null || entry.vendor() == null || entry.version() == null || entry.packages() == null);
+
+            return lock;
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid lockfile " + lockFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static ToolchainLock resolve(Log log, FoojayHttpClient httpClient, List<Map.Entry<String, String>> requirements, List<String> platforms) throws IOException {
+        DiscoveryCache discoveryCache = new DiscoveryCache(FoojayService.getJdksDir(), 0);
+
+        ToolchainLock lock = new ToolchainLock();
+
+        for (Map.Entry<String, String> requirement : requirements) {
+            String vendor = requirement.getKey();
+
+            String version = requirement.getValue();
+
+            Map<String, FoojayPackage> packages = new TreeMap<>();
+
+            for (String platform : platforms) {
+                FoojayPackage foojayPackage = FoojayService.findPackage(log, httpClient, discoveryCache, FoojayHelper.getInstallVersion(version), vendor, platform);
+
+                if (foojayPackage == null) {
+                    throw new IOException("Couldn't find a " + vendor + " " + version + " package for " + platform + " in Foojay");
+                }
+
+                log.info("Locked " + vendor + " " + version + " for " + platform + " to " + foojayPackage.fileName());
+
+                packages.put(platform, foojayPackage);
+            }
+
+            lock.toolchains.removeIf(entry -> entry.matches(vendor, version));
+
+            lock.toolchains.add(new Entry(vendor, version, packages));
+        }
+
+        return lock;
+    }
+
+    public static String getCurrentPlatform() {
+        return FoojayService.getPlatform();
+    }
+
+    /**
+     * Whether the lockfile pins the vendor and version on any platform, even if not on the current one.
+     */
+    public boolean isLocked(String vendor, String version) {
+        return toolchains.stream().anyMatch(entry -> entry.matches(vendor, version));
+    }
+
+    public void write(Path lockFile) throws IOException {
+        Path parent = lockFile.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        Path tmpFile = Files.createTempFile(parent, LOCK_FILE, ".tmp");
+
+        try {
+            Files.writeString(tmpFile, GSON.toJson(this) + System.lineSeparator(), StandardCharsets.UTF_8);
+
+            Files.move(tmpFile, lockFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    FoojayPackage getPackage(String vendor, String version) {
+        for (Entry entry : toolchains) {
+            if (entry.matches(vendor, version)) {
+                return entry.packages().get(getCurrentPlatform());
+            }
+        }
+
+        return null;
+    }
+
+    private record Entry(String vendor, String version, Map<String, FoojayPackage> packages) {
+
+        boolean matches(String vendor, String version) {
+            return this.vendor.equalsIgnoreCase(vendor.trim()) && this.version.equals(version.trim());
+        }
+    }
+}
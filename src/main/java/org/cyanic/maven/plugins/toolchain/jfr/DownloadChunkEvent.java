@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Unsigned;
+
+@Name("org.cyanic.toolchain.DownloadChunk")
+@Label("JDK Download Chunk")
+@Category({"Maven", "Toolchain Installer"})
+@Description("Transfer of one HTTP range, or of the whole file, of a JDK archive")
+public final class DownloadChunkEvent extends Event {
+
+    @Label("URL")
+    private final String url;
+
+    @Label("Range Start Offset")
+    @Description("Byte offset in the archive where the transfer starts")
+    @Unsigned
+    private final long rangeStart;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public DownloadChunkEvent(String url, long rangeStart) {
+        this.url = url;
+        this.rangeStart = rangeStart;
+    }
+
+    public void addBytes(long bytes) {
+        this.bytes += bytes;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.cyanic.toolchain.Extraction")
+@Label("JDK Archive Extraction")
+@Category({"Maven", "Toolchain Installer"})
+@Description("Extraction of a downloaded JDK archive")
+public final class ExtractionEvent extends Event {
+
+    @Label("Archive")
+    private final String archive;
+
+    @Label("Backend")
+    private final String backend;
+
+    @Label("Archive Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public ExtractionEvent(String archive, String backend, long bytes) {
+        this.archive = archive;
+        this.backend = backend;
+        this.bytes = bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.cyanic.toolchain.ProviderProbe")
+@Label("Toolchain Provider Probe")
+@Category({"Maven", "Toolchain Installer"})
+@Description("Lookup of a JDK through one of the toolchain providers")
+public final class ProviderProbeEvent extends Event {
+
+    @Label("Provider")
+    private final String provider;
+
+    @Label("Vendor")
+    private final String vendor;
+
+    @Label("Version")
+    private final String version;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public ProviderProbeEvent(String provider, String vendor, String version) {
+        this.provider = provider;
+        this.vendor = vendor;
+        this.version = version;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
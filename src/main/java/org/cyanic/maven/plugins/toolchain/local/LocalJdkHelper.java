@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.local;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.cyanic.maven.plugins.toolchain.version.VersionRequirement;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.cyanic.maven.plugins.toolchain.xml.ToolchainXmlHelper.addJDKToToolchains;
+
+public final class LocalJdkHelper {
+
+    private LocalJdkHelper() {}
+
+    public static ToolchainPrivate getJdkFromLocalInstalls(Log log, String version, String vendor, boolean anyVendor) {
+        VersionRequirement requirement = VersionRequirement.parse(version);
+
+        if (requirement == null) {
+            log.debug("Can't parse version " + version + ", skipping local JDK lookup");
+
+            return null;
+        }
+
+        try {
+            LocalJdk jdk = findBestMatch(LocalJdks.discover(), requirement, vendor, anyVendor);
+
+            if (jdk != null) {
+                log.info("Found JDK " + jdk.version() + " from " + jdk.source() + " matching " + version + ": " + jdk.home());
+                log.info("Adding JDK to toolchains.xml");
+
+                // Any vendor was accepted, so the JDK keeps its own, or none when unknown, like Sdkman JDKs do
+                String jdkVendor = anyVendor ? jdk.vendor() : vendor;
+
+                return addJDKToToolchains(jdk.home(), requirement.isRange() ? jdk.version().toString() : version, jdkVendor);
+            }
+        } catch (Exception e) {
+            log.error("Failed to look up locally installed JDKs", e);
+        }
+
+        log.info("No locally installed JDK matches " + version);
+
+        return null;
+    }
+
+    static LocalJdk findBestMatch(List<LocalJdk> jdks, VersionRequirement requirement, String vendor, boolean anyVendor) {
+        return jdks.stream()
+                .filter(jdk -> anyVendor || jdk.vendor().equalsIgnoreCase(vendor))
+                .filter(LocalJdkHelper::isNativeArch)
+                .filter(jdk -> requirement.matches(jdk.version()))
+                .max(Comparator.comparing(LocalJdk::version))
+                .orElse(null);
+    }
+
+    private static boolean isNativeArch(LocalJdk jdk) {
+        return jdk.arch().isEmpty() || jdk.arch().equals(ReleaseFile.normalizeArch(System.getProperty("os.arch")));
+    }
+}
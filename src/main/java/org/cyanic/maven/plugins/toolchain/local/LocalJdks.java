@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.local;
+
+import org.cyanic.maven.plugins.toolchain.concurrent.Futures;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayService;
+import org.cyanic.maven.plugins.toolchain.version.JavaVersion;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class LocalJdks {
+
+    static final String SYSTEM_DIRS_PROPERTY = "toolchain.installer.local.system.dirs";
+
+    static final String DEFAULT_SYSTEM_DIRS = "/usr/lib/jvm,/Library/Java/JavaVirtualMachines";
+
+    private static final Map<String, String> SDKMAN_VENDORS = Map.ofEntries(
+            Map.entry("amzn", "corretto"),
+            Map.entry("graal", "graalvm"),
+            Map.entry("graalce", "graalvm_community"),
+            Map.entry("librca", "liberica"),
+            Map.entry("ms", "microsoft"),
+            Map.entry("open", "oracle_open_jdk"),
+            Map.entry("oracle", "oracle"),
+            Map.entry("sapmchn", "sap_machine"),
+            Map.entry("sem", "semeru"),
+            Map.entry("tem", "temurin"),
+            Map.entry("zulu", "zulu")
+    );
+
+    private static final Map<Path, ScannedDirectory> SCANNED_DIRECTORIES = new ConcurrentHashMap<>();
+
+    private LocalJdks() {}
+
+    public static List<LocalJdk> discover() throws IOException {
+        List<Root> roots = getRoots(Paths.get(System.getProperty("user.home")));
+
+        List<LocalJdk> scanned = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<LocalJdk>>> futures = new ArrayList<>();
+
+            for (Root root : roots) {
+                futures.add(executor.submit(() -> scan(root)));
+            }
+
+            for (Future<List<LocalJdk>> future : futures) {
+                scanned.addAll(Futures.await(future, "scanning local JDKs", IOException.class, IOException::new));
+            }
+        }
+
+        Map<Path, LocalJdk> jdks = new LinkedHashMap<>();
+
+        for (LocalJdk jdk : scanned) {
+            jdks.putIfAbsent(getRealPath(jdk.home()), jdk);
+        }
+
+        return new ArrayList<>(jdks.values());
+    }
+
+    private static List<Root> getRoots(Path userHome) {
+        List<Root> roots = new ArrayList<>();
+
+        roots.add(new Root(userHome.resolve(".sdkman").resolve("candidates").resolve("java"), "Sdkman", Layout.SDKMAN));
+        roots.add(new Root(userHome.resolve(".jbang").resolve("cache").resolve("jdks"), "JBang", Layout.FLAT));
+
+        Path jdksDir = FoojayService.getJdksDir();
+
+        roots.add(new Root(jdksDir, "Foojay", Layout.BY_VENDOR));
+
+        if (!jdksDir.toAbsolutePath().normalize().equals(userHome.resolve(".m2").resolve("jdks").toAbsolutePath().normalize())) {
+            roots.add(new Root(userHome.resolve(".m2").resolve("jdks"), "Foojay", Layout.BY_VENDOR));
+        }
+
+        roots.add(new Root(userHome.resolve(".jdks"), "IntelliJ", Layout.FLAT));
+        roots.add(new Root(userHome.resolve("Library").resolve("Java").resolve("JavaVirtualMachines"), "IntelliJ", Layout.FLAT));
+        roots.add(new Root(userHome.resolve(".gradle").resolve("jdks"), "Gradle", Layout.FLAT));
+        roots.add(new Root(userHome.resolve(".asdf").resolve("installs").resolve("java"), "asdf", Layout.FLAT));
+        roots.add(new Root(userHome.resolve(".local").resolve("share").resolve("mise").resolve("installs").resolve("java"), "mise", Layout.FLAT));
+
+        for (String systemDir : System.getProperty(SYSTEM_DIRS_PROPERTY, DEFAULT_SYSTEM_DIRS).split(",")) {
+            if (!systemDir.isBlank()) {
+                roots.add(new Root(Paths.get(systemDir.trim()), "System", Layout.FLAT));
+            }
+        }
+
+        return roots;
+    }
+
+    private static List<LocalJdk> scan(Root root) throws IOException {
+        if (root.layout() != Layout.BY_VENDOR) {
+            return scanDirectory(root.dir(), root, "");
+        }
+
+        List<LocalJdk> jdks = new ArrayList<>();
+
+        for (Path vendorDir : listDirectories(root.dir())) {
+            jdks.addAll(scanDirectory(vendorDir, root, vendorDir.getFileName().toString()));
+        }
+
+        return jdks;
+    }
+
+    private static List<LocalJdk> scanDirectory(Path parent, Root root, String vendor) throws IOException {
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+
+        Path key = parent.toAbsolutePath().normalize();
+
+        FileTime modified = Files.getLastModifiedTime(parent);
+
+        ScannedDirectory cached = SCANNED_DIRECTORIES.get(key);
+
+        if (cached != null && cached.modified().equals(modified) && cached.source().equals(root.source())) {
+            return cached.jdks();
+        }
+
+        List<LocalJdk> jdks = new ArrayList<>();
+
+        for (Path dir : listDirectories(parent)) {
+            String dirName = dir.getFileName().toString();
+
+            if (root.layout() == Layout.SDKMAN && dirName.equals("current")) {
+                continue;
+            }
+
+            LocalJdk jdk = readJdk(dir, dirName, root.layout() == Layout.SDKMAN ? getSdkmanVendor(dirName) : vendor, root.source());
+
+            if (jdk != null) {
+                jdks.add(jdk);
+            }
+        }
+
+        SCANNED_DIRECTORIES.put(key, new ScannedDirectory(modified, root.source(), List.copyOf(jdks)));
+
+        return jdks;
+    }
+
+    private static LocalJdk readJdk(Path dir, String dirName, String vendor, String source) throws IOException {
+        Path javaHome = findJavaHome(dir);
+
+        if (javaHome == null) {
+            return null;
+        }
+
+        ReleaseFile release = ReleaseFile.read(javaHome);
+
+        JavaVersion version = release == null || release.javaVersion() == null ? null : JavaVersion.parse(release.javaVersion());
+
+        if (version == null) {
+            version = JavaVersion.parse(dirName);
+        }
+
+        if (version == null) {
+            return null;
+        }
+
+        String jdkVendor = vendor.isEmpty() && release != null ? release.getVendor() : vendor;
+
+        return new LocalJdk(javaHome, version, jdkVendor, release == null ? "" : release.arch(), source);
+    }
+
+    private static Path findJavaHome(Path dir) throws IOException {
+        Path javaHome = getJavaHome(dir);
+
+        if (Files.isRegularFile(javaHome.resolve("release"))) {
+            return javaHome;
+        }
+
+        List<Path> children = listDirectories(dir);
+
+        if (children.size() != 1) {
+            return null;
+        }
+
+        javaHome = getJavaHome(children.get(0));
+
+        return Files.isRegularFile(javaHome.resolve("release")) ? javaHome : null;
+    }
+
+    private static Path getJavaHome(Path dir) {
+        Path macHome = dir.resolve("Contents").resolve("Home");
+
+        return Files.isDirectory(macHome) ? macHome : dir;
+    }
+
+    private static String getSdkmanVendor(String identifier) {
+        int separator = identifier.lastIndexOf('-');
+
+        if (separator < 0) {
+            return "";
+        }
+
+        return SDKMAN_VENDORS.getOrDefault(identifier.substring(separator + 1).toLowerCase(Locale.ROOT), "");
+    }
+
+    private static Path getRealPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    private static List<Path> listDirectories(Path parent) throws IOException {
+        List<Path> dirs = new ArrayList<>();
+
+        if (!Files.isDirectory(parent)) {
+            return dirs;
+        }
+
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(parent, child -> Files.isDirectory(child) && !child.getFileName().toString().startsWith("."))) {
+            for (Path child : children) {
+                dirs.add(child);
+            }
+        }
+
+        dirs.sort(null);
+
+        return dirs;
+    }
+
+    private enum Layout {
+        SDKMAN,
+        FLAT,
+        BY_VENDOR
+    }
+
+    private record Root(Path dir, String source, Layout layout) {}
+
+    private record ScannedDirectory(FileTime modified, String source, List<LocalJdk> jdks) {}
+}
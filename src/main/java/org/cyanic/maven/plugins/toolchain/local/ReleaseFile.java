@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.local;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public record ReleaseFile(String javaVersion, String implementor, String arch) {
+
+    // Matched in order by substring, so names that contain another vendor's name go before it
+    private static final List<Map.Entry<String, String>> IMPLEMENTOR_VENDORS = List.of(
+            Map.entry("graalvm community", "graalvm_community"),
+            Map.entry("ibm corporation", "semeru"),
+            Map.entry("international business machines", "semeru"),
+            Map.entry("red hat", "redhat"),
+            Map.entry("sap se", "sap_machine"),
+            Map.entry("adoptium", "temurin"),
+            Map.entry("alibaba", "dragonwell"),
+            Map.entry("amazon", "corretto"),
+            Map.entry("azul", "zulu"),
+            Map.entry("bellsoft", "liberica"),
+            Map.entry("huawei", "bisheng"),
+            Map.entry("jetbrains", "jetbrains"),
+            Map.entry("microsoft", "microsoft"),
+            Map.entry("tencent", "kona"),
+            Map.entry("oracle", "oracle_open_jdk")
+    );
+
+    public static ReleaseFile read(Path javaHome) {
+        String javaVersion = null;
+
+        String implementor = "";
+
+        String arch = "";
+
+        try {
+            for (String line : Files.readAllLines(javaHome.resolve("release"))) {
+                int separator = line.indexOf('=');
+
+                if (separator < 0) {
+                    continue;
+                }
+
+                String key = line.substring(0, separator).trim();
+
+                String value = line.substring(separator + 1).trim().replace("\"", "");
+
+                if (key.equals("JAVA_VERSION")) {
+                    javaVersion = value;
+                } else if (key.equals("IMPLEMENTOR")) {
+                    implementor = value;
+                } else if (key.equals("OS_ARCH")) {
+                    arch = normalizeArch(value);
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return new ReleaseFile(javaVersion, implementor, arch);
+    }
+
+    String getVendor() {
+        String name = implementor.toLowerCase(Locale.ROOT);
+
+        for (Map.Entry<String, String> vendor : IMPLEMENTOR_VENDORS) {
+            if (name.contains(vendor.getKey())) {
+                return vendor.getValue();
+            }
+        }
+
+        return "";
+    }
+
+    static String normalizeArch(String arch) {
+        String name = arch.trim().toLowerCase(Locale.ROOT);
+
+        return switch (name) {
+            case "x86_64", "amd64", "x64" -> "x64";
+            case "aarch64", "arm64" -> "aarch64";
+            case "x86", "i386", "i586", "i686", "x86_32", "x32" -> "x32";
+            default -> name;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.metrics;
+
+public enum Phase {
+
+    TOOLCHAIN_LOOKUP("toolchain lookup"),
+    SDKMAN("sdkman probe"),
+    LOCAL_JDKS("local JDK scan"),
+    JBANG("jbang"),
+    FOOJAY_DISCOVERY("foojay discovery"),
+    DOWNLOAD("download"),
+    EXTRACTION("extraction"),
+    TOOLCHAINS_XML("toolchains.xml write");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public final class ProvisioningMetrics implements AutoCloseable {
+
+    private static final InheritableThreadLocal<ProvisioningMetrics> CURRENT = new InheritableThreadLocal<>();
+
+    private static final ThreadLocal<Timer> ACTIVE_TIMER = new ThreadLocal<>();
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final ProvisioningMetrics previous;
+
+    private final Instant startedAt = Instant.now();
+
+    private final LongSupplier clock;
+
+    private final long startNanos;
+
+    private final Map<Phase, PhaseStats> phases = new EnumMap<>(Phase.class);
+
+    private final Map<String, String> toolchains = new LinkedHashMap<>();
+
+    private ProvisioningMetrics(ProvisioningMetrics previous, LongSupplier clock) {
+        this.previous = previous;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseStats());
+        }
+    }
+
+    public static ProvisioningMetrics start() {
+        return start(System::nanoTime);
+    }
+
+    static ProvisioningMetrics start(LongSupplier clock) {
+        ProvisioningMetrics metrics = new ProvisioningMetrics(CURRENT.get(), clock);
+
+        CURRENT.set(metrics);
+
+        return metrics;
+    }
+
+    public static <T, E extends Exception> T time(Phase phase, Action<T, E> action) throws E {
+        ProvisioningMetrics metrics = CURRENT.get();
+
+        if (metrics == null) {
+            return action.run();
+        }
+
+        Timer parent = ACTIVE_TIMER.get();
+
+        Timer timer = new Timer();
+
+        ACTIVE_TIMER.set(timer);
+
+        long start = metrics.clock.getAsLong();
+
+        try {
+            return action.run();
+        } finally {
+            long elapsed = metrics.clock.getAsLong() - start;
+
+            ACTIVE_TIMER.set(parent);
+
+            if (parent != null) {
+                parent.childNanos += elapsed;
+            }
+
+            metrics.phases.get(phase).record(elapsed - timer.childNanos);
+        }
+    }
+
+    public static void addBytes(Phase phase, long bytes) {
+        ProvisioningMetrics metrics = CURRENT.get();
+
+        if (metrics != null && bytes > 0) {
+            metrics.phases.get(phase).bytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Wraps a stream so the time spent blocked in its reads is charged to the given phase
+     * rather than to the phase being timed around the consumer.
+     */
+    public static InputStream timeReads(Phase phase, InputStream in) {
+        ProvisioningMetrics metrics = CURRENT.get();
+
+        return metrics == null ? in : new TimedInputStream(metrics, phase, in);
+    }
+
+    public void recordToolchain(String name, String outcome) {
+        synchronized (toolchains) {
+            toolchains.put(name, outcome);
+        }
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - startNanos);
+    }
+
+    public long getCalls(Phase phase) {
+        return phases.get(phase).calls.get();
+    }
+
+    public long getBytes(Phase phase) {
+        return phases.get(phase).bytes.get();
+    }
+
+    public long getNanos(Phase phase) {
+        return phases.get(phase).nanos.get();
+    }
+
+    public List<String> getSummary() {
+        List<String> lines = new ArrayList<>();
+
+        lines.add("Toolchain provisioning took " + getElapsedMillis() + " ms");
+        lines.add(String.format(Locale.ROOT, "  %-22s %6s %10s %12s %12s", "phase", "calls", "time", "bytes", "throughput"));
+
+        for (Phase phase : Phase.values()) {
+            PhaseStats stats = phases.get(phase);
+
+            if (stats.calls.get() == 0) {
+                continue;
+            }
+
+            long bytes = stats.bytes.get();
+
+            lines.add(String.format(Locale.ROOT, "  %-22s %6d %7d ms %12s %12s", phase.getLabel(), stats.calls.get(), TimeUnit.NANOSECONDS.toMillis(stats.nanos.get()),
+                    bytes == 0 ? "-" : formatBytes(bytes), bytes == 0 ? "-" : formatBytes(stats.getThroughput()) + "/s"));
+        }
+
+        return lines;
+    }
+
+    public void writeReport(Path reportFile) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        report.put("startedAt", startedAt.toString());
+        report.put("durationMillis", getElapsedMillis());
+
+        synchronized (toolchains) {
+            report.put("toolchains", new LinkedHashMap<>(toolchains));
+        }
+
+        List<Map<String, Object>> phaseReports = new ArrayList<>();
+
+        for (Phase phase : Phase.values()) {
+            PhaseStats stats = phases.get(phase);
+
+            Map<String, Object> phaseReport = new LinkedHashMap<>();
+
+            phaseReport.put("phase", phase.name().toLowerCase(Locale.ROOT));
+            phaseReport.put("calls", stats.calls.get());
+            phaseReport.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(stats.nanos.get()));
+            phaseReport.put("bytes", stats.bytes.get());
+            phaseReport.put("bytesPerSecond", stats.getThroughput());
+
+            phaseReports.add(phaseReport);
+        }
+
+        report.put("phases", phaseReports);
+
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+
+        Files.writeString(reportFile, GSON.toJson(report), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+
+        T run() throws E;
+    }
+
+    private static final class Timer {
+
+        private long childNanos;
+    }
+
+    private static final class TimedInputStream extends FilterInputStream {
+
+        private final ProvisioningMetrics metrics;
+
+        private final Phase phase;
+
+        TimedInputStream(ProvisioningMetrics metrics, Phase phase, InputStream in) {
+            super(in);
+            this.metrics = metrics;
+            this.phase = phase;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = metrics.clock.getAsLong();
+
+            try {
+                return super.read();
+            } finally {
+                record(start);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = metrics.clock.getAsLong();
+
+            try {
+                return super.read(b, off, len);
+            } finally {
+                record(start);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long start = metrics.clock.getAsLong();
+
+            try {
+                return super.skip(n);
+            } finally {
+                record(start);
+            }
+        }
+
+        private void record(long start) {
+            long elapsed = metrics.clock.getAsLong() - start;
+
+            Timer timer = ACTIVE_TIMER.get();
+
+            if (timer != null) {
+                timer.childNanos += elapsed;
+            }
+
+            metrics.phases.get(phase).nanos.addAndGet(elapsed);
+        }
+    }
+
+    private static final class PhaseStats {
+
+        private final AtomicLong calls = new AtomicLong();
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        void record(long elapsedNanos) {
+            calls.incrementAndGet();
+
+            nanos.addAndGet(elapsedNanos);
+        }
+
+        long getThroughput() {
+            long elapsedNanos = nanos.get();
+
+            return elapsedNanos == 0 ? 0 : (long) (bytes.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.version;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public record JavaVersion(List<Integer> components) implements Comparable<JavaVersion> {
+
+    public JavaVersion {
+        components = List.copyOf(components);
+    }
+
+    public static JavaVersion parse(String version) {
+        if (version == null) {
+            return null;
+        }
+
+        String value = version.trim();
+
+        if (value.startsWith("jdk-")) {
+            value = value.substring(4);
+        }
+
+        if (value.isEmpty() || !Character.isDigit(value.charAt(0))) {
+            return null;
+        }
+
+        List<Integer> components = new ArrayList<>();
+
+        int component = 0;
+
+        int i = 0;
+
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (Character.isDigit(c)) {
+                component = component * 10 + (c - '0');
+            } else if ((c == '.' || c == '_') && i + 1 < value.length() && Character.isDigit(value.charAt(i + 1))) {
+                components.add(component);
+
+                component = 0;
+            } else {
+                break;
+            }
+        }
+
+        components.add(component);
+
+        if (components.size() > 1 && components.get(0) == 1) {
+            components.remove(0);
+        }
+
+        return new JavaVersion(components);
+    }
+
+    public int feature() {
+        return components.get(0);
+    }
+
+    public boolean startsWith(JavaVersion prefix) {
+        // Missing components count as zeros, so 21 is a 21.0 release
+        for (int i = 0; i < prefix.components.size(); i++) {
+            if (component(i) != prefix.components.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int compareTo(JavaVersion other) {
+        int length = Math.max(components.size(), other.components.size());
+
+        for (int i = 0; i < length; i++) {
+            int result = Integer.compare(component(i), other.component(i));
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return components.stream().map(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    private int component(int index) {
+        return index < components.size() ? components.get(index) : 0;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.version;
+
+public final class VersionRequirement {
+
+    private final String version;
+
+    private final JavaVersion prefix;
+
+    private final JavaVersion lowerBound;
+
+    private final boolean lowerInclusive;
+
+    private final JavaVersion upperBound;
+
+    private final boolean upperInclusive;
+
+    private VersionRequirement(String version, JavaVersion prefix, JavaVersion lowerBound, boolean lowerInclusive, JavaVersion upperBound, boolean upperInclusive) {
+        this.version = version;
+        this.prefix = prefix;
+        this.lowerBound = lowerBound;
+        this.lowerInclusive = lowerInclusive;
+        this.upperBound = upperBound;
+        this.upperInclusive = upperInclusive;
+    }
+
+    public static VersionRequirement parse(String version) {
+        if (version == null || version.isBlank()) {
+            return null;
+        }
+
+        String value = version.trim();
+
+        if (value.endsWith("+")) {
+            JavaVersion lowerBound = JavaVersion.parse(value.substring(0, value.length() - 1));
+
+            return lowerBound == null ? null : new VersionRequirement(value, null, lowerBound, true, null, false);
+        }
+
+        if (isRange(value)) {
+            return parseRange(value);
+        }
+
+        JavaVersion prefix = JavaVersion.parse(value);
+
+        return prefix == null ? null : new VersionRequirement(value, prefix, null, false, null, false);
+    }
+
+    public boolean isRange() {
+        return prefix == null;
+    }
+
+    public boolean matches(JavaVersion javaVersion) {
+        if (prefix != null) {
+            return javaVersion.startsWith(prefix);
+        }
+
+        if (lowerBound != null) {
+            int result = javaVersion.compareTo(lowerBound);
+
+            if (result < 0 || (result == 0 && !lowerInclusive)) {
+                return false;
+            }
+        }
+
+        if (upperBound != null) {
+            int result = javaVersion.compareTo(upperBound);
+
+            return result < 0 || (result == 0 && upperInclusive);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the requirement in Maven's version range syntax, which is what registered toolchains are matched with.
+     * Only the open-ended form needs translating, {@code 21+} becomes {@code [21,)}.
+     */
+    public String toVersionSpec() {
+        if (version.endsWith("+")) {
+            return "[" + version.substring(0, version.length() - 1).trim() + ",)";
+        }
+
+        return version;
+    }
+
+    public String getDownloadVersion() {
+        if (prefix != null) {
+            return version;
+        }
+
+        return lowerBound == null ? null : lowerBound.toString();
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+
+    private static boolean isRange(String value) {
+        return (value.startsWith("[") || value.startsWith("(")) && (value.endsWith("]") || value.endsWith(")"));
+    }
+
+    private static VersionRequirement parseRange(String value) {
+        boolean lowerInclusive = value.startsWith("[");
+
+        boolean upperInclusive = value.endsWith("]");
+
+        String[] bounds = value.substring(1, value.length() - 1).split(",", -1);
+
+        if (bounds.length == 1) {
+            JavaVersion exact = JavaVersion.parse(bounds[0]);
+
+            if (exact == null || !lowerInclusive || !upperInclusive) {
+                return null;
+            }
+
+            return new VersionRequirement(value, null, exact, true, exact, true);
+        }
+
+        if (bounds.length != 2) {
+            return null;
+        }
+
+        JavaVersion lowerBound = JavaVersion.parse(bounds[0]);
+
+        JavaVersion upperBound = JavaVersion.parse(bounds[1]);
+
+        if ((lowerBound == null && !bounds[0].isBlank()) || (upperBound == null && !bounds[1].isBlank())) {
+            return null;
+        }
+
+        return new VersionRequirement(value, null, lowerBound, lowerInclusive, upperBound, upperInclusive);
+    }
+}
@@ -23,39 +23,251 @@ import org.codehaus.plexus.logging.console.ConsoleLogger;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
 import org.codehaus.plexus.util.xml.Xpp3DomWriter;
+import org.cyanic.maven.plugins.toolchain.jfr.ToolchainsXmlWriteEvent;
+import org.cyanic.maven.plugins.toolchain.metrics.Phase;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
 
 public final class ToolchainXmlHelper {
 
     private ToolchainXmlHelper() {}
 
-    public static ToolchainPrivate addJDKToToolchains(Path jdkHome, String version, String vendor) throws Exception {
+    public static synchronized ToolchainPrivate addJDKToToolchains(Path jdkHome, String version, String vendor) throws Exception {
         ToolchainPrivate javaToolChain = buildJdkToolchain(version, vendor, jdkHome.toAbsolutePath().toString());
 
         File toolchainsXml = new File(new File(System.getProperty("user.home")), ".m2/toolchains.xml");
 
+        ToolchainsXmlWriteEvent event = new ToolchainsXmlWriteEvent(vendor, version, jdkHome.toAbsolutePath().toString());
+
+        event.setOutcome("failed");
+
+        event.begin();
+
+        try {
+            ProvisioningMetrics.time(Phase.TOOLCHAINS_XML, () -> {
+                Files.createDirectories(toolchainsXml.toPath().getParent());
+
+                try (FileChannel lockChannel = FileChannel.open(toolchainsXml.toPath().resolveSibling(toolchainsXml.getName() + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock lock = lockChannel.lock()) {
+                    event.setOutcome(updateToolchains(toolchainsXml, jdkHome.toAbsolutePath().toString(), version, vendor) ? "written" : "unchanged");
+                }
+
+                return null;
+            });
+        } finally {
+            event.commit();
+        }
+
+        return javaToolChain;
+    }
+
+    private static boolean updateToolchains(File toolchainsXml, String jdkHome, String version, String vendor) throws Exception {
         Xpp3Dom toolchainsDom;
 
         if (toolchainsXml.exists()) {
-            toolchainsDom = Xpp3DomBuilder.build(new FileReader(toolchainsXml));
+            try (Reader reader = Files.newBufferedReader(toolchainsXml.toPath(), StandardCharsets.UTF_8)) {
+                toolchainsDom = Xpp3DomBuilder.build(reader);
+            }
         } else {
             toolchainsDom = new Xpp3Dom("toolchains");
         }
 
-        toolchainsDom.addChild(jdkToolchainDom(version, vendor, jdkHome.toAbsolutePath().toString()));
+        boolean changed = removeDuplicates(toolchainsDom);
 
-        FileWriter writer = new FileWriter(toolchainsXml);
+        Map<String, List<Xpp3Dom>> toolchainsByJdkHome = indexByJdkHome(toolchainsDom);
 
-        Xpp3DomWriter.write(writer, toolchainsDom);
+        Xpp3Dom existing = findCompatible(toolchainsByJdkHome.get(normalizeJdkHome(jdkHome)), version, vendor);
 
-        writer.close();
+        if (existing == null) {
+            toolchainsDom.addChild(jdkToolchainDom(version, vendor, jdkHome));
 
-        return javaToolChain;
+            changed = true;
+        } else {
+            changed |= mergeProvides(existing, version, vendor);
+        }
+
+        if (changed) {
+            write(toolchainsXml.toPath(), toolchainsDom);
+        }
+
+        return changed;
+    }
+
+    private static void write(Path toolchainsXml, Xpp3Dom toolchainsDom) throws IOException {
+        Path tmpFile = Files.createTempFile(toolchainsXml.getParent(), toolchainsXml.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE)) {
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+
+                Xpp3DomWriter.write(writer, toolchainsDom);
+
+                writer.flush();
+
+                channel.force(true);
+            }
+
+            try {
+                Files.move(tmpFile, toolchainsXml, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, toolchainsXml, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    private static boolean removeDuplicates(Xpp3Dom toolchainsDom) {
+        Set<String> seen = new HashSet<>();
+
+        List<Integer> duplicates = new ArrayList<>();
+
+        for (int i = 0; i < toolchainsDom.getChildCount(); i++) {
+            Xpp3Dom toolchainDom = toolchainsDom.getChild(i);
+
+            String jdkHome = getJdkHome(toolchainDom);
+
+            if (jdkHome == null) {
+                continue;
+            }
+
+            if (!seen.add(getValue(toolchainDom.getChild("type")) + "|" + normalizeJdkHome(jdkHome) + "|" + getProvides(toolchainDom))) {
+                duplicates.add(i);
+            }
+        }
+
+        for (int i = duplicates.size() - 1; i >= 0; i--) {
+            toolchainsDom.removeChild(duplicates.get(i));
+        }
+
+        return !duplicates.isEmpty();
+    }
+
+    private static Map<String, List<Xpp3Dom>> indexByJdkHome(Xpp3Dom toolchainsDom) {
+        Map<String, List<Xpp3Dom>> toolchainsByJdkHome = new HashMap<>();
+
+        for (Xpp3Dom toolchainDom : toolchainsDom.getChildren("toolchain")) {
+            String jdkHome = getJdkHome(toolchainDom);
+
+            if (jdkHome != null && "jdk".equals(getValue(toolchainDom.getChild("type")))) {
+                toolchainsByJdkHome.computeIfAbsent(normalizeJdkHome(jdkHome), key -> new ArrayList<>()).add(toolchainDom);
+            }
+        }
+
+        return toolchainsByJdkHome;
+    }
+
+    private static Xpp3Dom findCompatible(List<Xpp3Dom> candidates, String version, String vendor) {
+        if (candidates == null) {
+            return null;
+        }
+
+        for (Xpp3Dom candidate : candidates) {
+            Map<String, String> provides = getProvides(candidate);
+
+            if (isCompatible(provides.get("version"), version) && isCompatible(provides.get("vendor"), vendor)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isCompatible(String existing, String value) {
+        return isBlank(existing) || isBlank(value) || existing.equals(value);
+    }
+
+    private static boolean mergeProvides(Xpp3Dom toolchainDom, String version, String vendor) {
+        Xpp3Dom providesDom = toolchainDom.getChild("provides");
+
+        if (providesDom == null) {
+            providesDom = new Xpp3Dom("provides");
+
+            toolchainDom.addChild(providesDom);
+        }
+
+        return mergeValue(providesDom, "version", version) | mergeValue(providesDom, "vendor", vendor);
+    }
+
+    private static boolean mergeValue(Xpp3Dom providesDom, String name, String value) {
+        if (isBlank(value)) {
+            return false;
+        }
+
+        Xpp3Dom valueDom = providesDom.getChild(name);
+
+        if (valueDom == null) {
+            providesDom.addChild(createElement(name, value));
+
+            return true;
+        }
+
+        if (isBlank(valueDom.getValue())) {
+            valueDom.setValue(value);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private static String getJdkHome(Xpp3Dom toolchainDom) {
+        Xpp3Dom configurationDom = toolchainDom.getChild("configuration");
+
+        return configurationDom == null ? null : getValue(configurationDom.getChild("jdkHome"));
+    }
+
+    private static Map<String, String> getProvides(Xpp3Dom toolchainDom) {
+        Map<String, String> provides = new TreeMap<>();
+
+        Xpp3Dom providesDom = toolchainDom.getChild("provides");
+
+        if (providesDom != null) {
+            for (Xpp3Dom valueDom : providesDom.getChildren()) {
+                provides.put(valueDom.getName(), valueDom.getValue() == null ? "" : valueDom.getValue().trim());
+            }
+        }
+
+        return provides;
+    }
+
+    private static String getValue(Xpp3Dom dom) {
+        return dom == null || dom.getValue() == null ? null : dom.getValue().trim();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String normalizeJdkHome(String jdkHome) {
+        try {
+            return Paths.get(jdkHome).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return jdkHome;
+        }
     }
 
     private static ToolchainPrivate buildJdkToolchain(String version, String vendor, String jdkHome) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightInstallsTest {
+
+    @Mock
+    private Log log;
+
+    @Test
+    void testInstall_WhenSameJdkRequestedConcurrently_ShouldInstallOnce() throws Exception {
+        ToolchainPrivate toolchain = mock(ToolchainPrivate.class);
+
+        AtomicInteger installs = new AtomicInteger();
+
+        CountDownLatch installStarted = new CountDownLatch(1);
+
+        CountDownLatch releaseInstall = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ToolchainPrivate> first = executor.submit(() -> SingleFlightInstalls.install(log, "zulu 21 linux-amd64", () -> {
+                installs.incrementAndGet();
+
+                installStarted.countDown();
+
+                awaitQuietly(releaseInstall);
+
+                return toolchain;
+            }));
+
+            assertTrue(installStarted.await(5, TimeUnit.SECONDS));
+
+            Future<ToolchainPrivate> second = executor.submit(() -> SingleFlightInstalls.install(log, "zulu 21 linux-amd64", () -> {
+                installs.incrementAndGet();
+
+                return mock(ToolchainPrivate.class);
+            }));
+
+            verify(log, timeout(5000)).info(startsWith("Waiting for install of zulu 21"));
+
+            releaseInstall.countDown();
+
+            assertSame(toolchain, first.get(5, TimeUnit.SECONDS));
+            assertSame(toolchain, second.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, installs.get());
+    }
+
+    @Test
+    void testInstall_WhenInstallFails_ShouldAllowRetry() {
+        assertThrows(IllegalStateException.class, () -> SingleFlightInstalls.install(log, "temurin 17 linux-amd64", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        ToolchainPrivate toolchain = mock(ToolchainPrivate.class);
+
+        assertSame(toolchain, SingleFlightInstalls.install(log, "temurin 17 linux-amd64", () -> toolchain));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
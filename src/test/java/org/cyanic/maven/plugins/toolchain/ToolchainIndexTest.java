@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.toolchain.RequirementMatcherFactory;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.java.DefaultJavaToolChain;
+import org.apache.maven.toolchain.model.ToolchainModel;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ToolchainIndexTest {
+
+    private final ToolchainPrivate temurin17 = toolchain("17", "temurin");
+
+    private final ToolchainPrivate temurin21 = toolchain("21.0.4", "temurin");
+
+    private final ToolchainPrivate zulu21 = toolchain("21", "Zulu");
+
+    private final ToolchainPrivate unversioned = toolchain(null, "temurin");
+
+    private final ToolchainIndex index = ToolchainIndex.build("jdk", new ToolchainPrivate[]{
+            temurin17, temurin21, zulu21, unversioned
+    });
+
+    @Test
+    void testFind_WhenExactVersionAndVendor_ShouldReturnMatchingToolchain() {
+        assertSame(temurin17, index.find(Map.of("version", "17", "vendor", "temurin")));
+        assertSame(zulu21, index.find(Map.of("version", "21.0", "vendor", "zulu")));
+    }
+
+    @Test
+    void testFind_WhenVersionRange_ShouldReturnFirstToolchainInRange() {
+        assertSame(temurin21, index.find(Map.of("version", "[21,22)")));
+        assertSame(temurin17, index.find(Map.of("version", "[17,)", "vendor", "temurin")));
+        assertNull(index.find(Map.of("version", "(21.0.4,)", "vendor", "temurin")));
+    }
+
+    @Test
+    void testFind_WhenOpenEndedRequirement_ShouldMatchAsVersionRange() {
+        assertSame(temurin21, index.find(Map.of("version", "21+", "vendor", "temurin")));
+        assertSame(temurin17, index.find(Map.of("version", "17+")));
+        assertNull(index.find(Map.of("version", "22+")));
+    }
+
+    @Test
+    void testFind_WhenOnlyVendor_ShouldIncludeUnversionedToolchains() {
+        assertSame(temurin17, index.find(Map.of("vendor", "temurin")));
+        assertSame(temurin17, index.find(Map.of()));
+    }
+
+    @Test
+    void testFind_WhenNothingMatches_ShouldReturnNull() {
+        assertNull(index.find(Map.of("version", "11")));
+        assertNull(index.find(Map.of("version", "21", "vendor", "corretto")));
+        assertNull(index.find(Map.of("version", "[21,22)", "vendor", "temurin", "arch", "x64")));
+    }
+
+    private static ToolchainPrivate toolchain(String version, String vendor) {
+        ToolchainModel model = new ToolchainModel();
+        model.setType("jdk");
+
+        if (version != null) {
+            model.addProvide("version", version);
+        }
+
+        model.addProvide("vendor", vendor);
+
+        DefaultJavaToolChain toolchain = new DefaultJavaToolChain(model, new ConsoleLogger());
+        toolchain.setJavaHome("/jdks/" + vendor + "-" + version);
+        toolchain.addProvideToken("vendor", RequirementMatcherFactory.createExactMatcher(vendor));
+
+        if (version != null) {
+            toolchain.addProvideToken("version", RequirementMatcherFactory.createVersionMatcher(version));
+        }
+
+        return toolchain;
+    }
+}
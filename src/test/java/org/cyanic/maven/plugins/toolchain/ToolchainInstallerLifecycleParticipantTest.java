@@ -0,0 +1,262 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.toolchain.ToolchainManagerPrivate;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.model.ToolchainModel;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.cyanic.maven.plugins.toolchain.foojay.FoojayHelper;
+import org.cyanic.maven.plugins.toolchain.jbang.JBangHelper;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ToolchainInstallerLifecycleParticipantTest {
+
+    @Mock
+    private ToolchainManagerPrivate toolchainManagerPrivate;
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private MavenSession session;
+
+    private final Properties userProperties = new Properties();
+
+    private ToolchainInstallerLifecycleParticipant participant;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        participant = new ToolchainInstallerLifecycleParticipant();
+
+        setField(participant, "toolchainManagerPrivate", toolchainManagerPrivate);
+        setField(participant, "logger", logger);
+
+        RepositorySystemSession repositorySession = mock(RepositorySystemSession.class);
+
+        lenient().when(session.getRepositorySession()).thenReturn(repositorySession);
+        lenient().when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        lenient().when(session.getUserProperties()).thenReturn(userProperties);
+    }
+
+    @Test
+    void testAfterProjectsRead_WhenModulesShareRequirement_ShouldResolveItOnce() throws Exception {
+        ToolchainPrivate existingToolchain = mock(ToolchainPrivate.class);
+
+        Map<String, String> requirements = Map.of("version", "17");
+
+        List<MavenProject> projects = List.of(project("17", null), project("17", null));
+
+        when(session.getProjects()).thenReturn(projects);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[]{existingToolchain});
+        when(existingToolchain.getType()).thenReturn("jdk");
+        when(existingToolchain.matchesRequirements(requirements)).thenReturn(true);
+
+        participant.afterProjectsRead(session);
+
+        verify(toolchainManagerPrivate, times(1)).getToolchainsForType("jdk", session);
+        assertSame(existingToolchain, ToolchainResolutionCache.forSession(session).get("jdk", requirements));
+    }
+
+    @Test
+    void testAfterProjectsRead_WhenJdksMissing_ShouldProvisionThemBeforeTheBuild(@TempDir Path tempDir) throws Exception {
+        Path jdksDir = tempDir.resolve("jdks");
+        Files.writeString(Files.createDirectories(jdksDir.resolve("openjdk").resolve("17")).resolve("release"), "JAVA_VERSION=\"17\"");
+        Files.writeString(Files.createDirectories(jdksDir.resolve("zulu").resolve("21")).resolve("release"), "JAVA_VERSION=\"21\"");
+        Files.createDirectories(tempDir.resolve(".m2"));
+
+        MavenExecutionRequest request = mock(MavenExecutionRequest.class);
+        Map<String, List<ToolchainModel>> requestToolchains = new HashMap<>();
+
+        List<MavenProject> projects = List.of(project("17", "openjdk"), project("21", "zulu"));
+
+        when(session.getProjects()).thenReturn(projects);
+        when(session.isOffline()).thenReturn(true);
+        when(session.getRequest()).thenReturn(request);
+        when(request.getToolchains()).thenReturn(requestToolchains);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+
+        String userHome = System.getProperty("user.home");
+
+        try {
+            System.setProperty("user.home", tempDir.toString());
+            System.setProperty("jdk.home", jdksDir.toString());
+            System.setProperty("toolchain.installer.local.system.dirs", "");
+
+            participant.afterProjectsRead(session);
+        } finally {
+            System.setProperty("user.home", userHome);
+            System.clearProperty("jdk.home");
+            System.clearProperty("toolchain.installer.local.system.dirs");
+        }
+
+        ToolchainResolutionCache resolutionCache = ToolchainResolutionCache.forSession(session);
+
+        assertNotNull(resolutionCache.get("jdk", Map.of("version", "17", "vendor", "openjdk")));
+        assertNotNull(resolutionCache.get("jdk", Map.of("version", "21", "vendor", "zulu")));
+        assertEquals(2, requestToolchains.get("jdk").size());
+    }
+
+    @Test
+    void testAfterProjectsRead_WhenOfflineConfiguredInPom_ShouldNotContactRemoteProviders(@TempDir Path tempDir) throws Exception {
+        MavenProject project = project("21", "zulu", element("offline", "true"));
+
+        when(session.getProjects()).thenReturn(List.of(project));
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+
+        try (MockedStatic<JBangHelper> jbangMock = mockStatic(JBangHelper.class);
+             MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
+            runWithEmptyJdkHome(tempDir);
+
+            foojayMock.verify(() -> FoojayHelper.getJdkFromLocalIndex(any(), eq("21"), eq("zulu")));
+            foojayMock.verify(() -> FoojayHelper.getJdkFromFoojay(any(), any(), anyString(), anyString()), never());
+            foojayMock.verify(() -> FoojayHelper.getJdkFromLock(any(), any(), any(), anyString(), anyString(), anyBoolean()), never());
+            jbangMock.verifyNoInteractions();
+        }
+
+        verify(session, never()).getSettings();
+    }
+
+    @Test
+    void testAfterProjectsRead_WhenResolverThrowsRuntimeException_ShouldLeaveItToTheMojo(@TempDir Path tempDir) throws Exception {
+        MavenProject project = project("21", "zulu", element("offline", "true"));
+
+        when(session.getProjects()).thenReturn(List.of(project));
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+
+        try (MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
+            foojayMock.when(() -> FoojayHelper.getJdkFromLocalIndex(any(), anyString(), anyString())).thenThrow(new IllegalStateException("corrupt index"));
+
+            assertDoesNotThrow(() -> runWithEmptyJdkHome(tempDir));
+        }
+
+        assertNull(ToolchainResolutionCache.forSession(session).get("jdk", Map.of("version", "21", "vendor", "zulu")));
+    }
+
+    @Test
+    void testAfterProjectsRead_WhenSkipPropertySet_ShouldDoNothing() {
+        userProperties.setProperty("toolchain.installer.skip", "true");
+
+        participant.afterProjectsRead(session);
+
+        verify(session, never()).getProjects();
+    }
+
+    private void runWithEmptyJdkHome(Path tempDir) throws Exception {
+        Path jdksDir = Files.createDirectories(tempDir.resolve("jdks"));
+        Files.createDirectories(tempDir.resolve(".m2"));
+
+        String userHome = System.getProperty("user.home");
+
+        try {
+            System.setProperty("user.home", tempDir.toString());
+            System.setProperty("jdk.home", jdksDir.toString());
+            System.setProperty("toolchain.installer.local.system.dirs", "");
+
+            participant.afterProjectsRead(session);
+        } finally {
+            System.setProperty("user.home", userHome);
+            System.clearProperty("jdk.home");
+            System.clearProperty("toolchain.installer.local.system.dirs");
+        }
+    }
+
+    private static MavenProject project(String version, String vendor, Xpp3Dom... settings) {
+        Xpp3Dom jdk = new Xpp3Dom("jdk");
+        jdk.addChild(element("version", version));
+
+        if (vendor != null) {
+            jdk.addChild(element("vendor", vendor));
+        }
+
+        Xpp3Dom toolchains = new Xpp3Dom("toolchains");
+        toolchains.addChild(jdk);
+
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(toolchains);
+
+        for (Xpp3Dom setting : settings) {
+            configuration.addChild(setting);
+        }
+
+        PluginExecution execution = new PluginExecution();
+        execution.setGoals(new ArrayList<>(List.of("install")));
+        execution.setConfiguration(configuration);
+
+        Plugin plugin = new Plugin();
+        plugin.addExecution(execution);
+
+        MavenProject project = mock(MavenProject.class);
+        when(project.getPlugin(InstallGoalConfigurations.PLUGIN_KEY)).thenReturn(plugin);
+
+        return project;
+    }
+
+    private static Xpp3Dom element(String name, String value) {
+        Xpp3Dom dom = new Xpp3Dom(name);
+        dom.setValue(value);
+
+        return dom;
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
 import org.cyanic.maven.plugins.toolchain.config.ToolchainConfig;
 import org.cyanic.maven.plugins.toolchain.foojay.FoojayHelper;
+import org.cyanic.maven.plugins.toolchain.foojay.ToolchainLock;
 import org.cyanic.maven.plugins.toolchain.jbang.JBangHelper;
 import org.cyanic.maven.plugins.toolchain.sdkman.SdkmanHelper;
 import org.apache.maven.settings.Proxy;
@@ -30,22 +31,33 @@ import org.apache.maven.settings.Settings;
 import org.apache.maven.toolchain.MisconfiguredToolchainException;
 import org.apache.maven.toolchain.ToolchainManagerPrivate;
 import org.apache.maven.toolchain.ToolchainPrivate;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,10 +75,21 @@ class ToolchainInstallerMojoTest {
     @Mock
     private Log log;
 
+    @TempDir
+    Path homeDir;
+
     private ToolchainInstallerMojo mojo;
 
+    private String originalUserHome;
+
     @BeforeEach
     void setUp() throws Exception {
+        originalUserHome = System.getProperty("user.home");
+
+        System.setProperty("user.home", homeDir.toString());
+        System.setProperty("jdk.home", homeDir.resolve("jdks").toString());
+        System.setProperty("toolchain.installer.local.system.dirs", "");
+
         mojo = new ToolchainInstallerMojo();
 
         setField(mojo, "toolchainManagerPrivate", toolchainManagerPrivate);
@@ -76,6 +99,13 @@ class ToolchainInstallerMojoTest {
         System.setProperty("toolchain.installer.skip", "false");
     }
 
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", originalUserHome);
+        System.clearProperty("jdk.home");
+        System.clearProperty("toolchain.installer.local.system.dirs");
+    }
+
     @Test
     void testExecute_WhenSkipIsTrue_ShouldSkipExecution() throws Exception {
         setField(mojo, "skip", true);
@@ -185,6 +215,37 @@ class ToolchainInstallerMojoTest {
         }
     }
 
+    @Test
+    void testExecute_WhenReportFileConfigured_ShouldWriteProvisioningReport() throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17");
+        Map<String, Map<String, String>> toolchainMap = Map.of("jdk", jdkParams);
+
+        Path reportFile = homeDir.resolve("target").resolve("toolchain-installer-report.json");
+
+        setField(mojo, "reportFile", reportFile.toFile());
+        mojo.setLog(log);
+
+        ToolchainPrivate mockToolchain = mock(ToolchainPrivate.class);
+        MavenExecutionRequest mockRequest = mock(MavenExecutionRequest.class);
+
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+        when(session.getRequest()).thenReturn(mockRequest);
+        when(mockRequest.getToolchains()).thenReturn(new HashMap<>());
+
+        try (MockedStatic<SdkmanHelper> sdkmanMock = mockStatic(SdkmanHelper.class)) {
+            sdkmanMock.when(() -> SdkmanHelper.getJdkFromSdkman(any(), eq("17"))).thenReturn(mockToolchain);
+
+            mojo.execute();
+        }
+
+        String report = Files.readString(reportFile);
+
+        assertTrue(report.contains("\"jdk\": \"installed\""));
+        assertTrue(report.contains("\"phase\": \"sdkman\""));
+        verify(log).info(startsWith("Toolchain provisioning took "));
+    }
+
     @Test
     void testExecute_WhenJdkNotFoundAndSdkmanFails_ShouldTryJbang() throws Exception {
         Map<String, String> jdkParams = Map.of("version", "17");
@@ -234,7 +295,7 @@ class ToolchainInstallerMojoTest {
             
             sdkmanMock.when(() -> SdkmanHelper.getJdkFromSdkman(any(), eq("17"))).thenReturn(null);
             jbangMock.when(() -> JBangHelper.getJdkFromJbang(any(), eq("17"), eq("oracle_open_jdk"))).thenReturn(null);
-            foojayMock.when(() -> FoojayHelper.getJdkFromFoojay(any(), eq(mockProxy), eq("17"), eq("oracle_open_jdk"))).thenReturn(mockToolchain);
+            foojayMock.when(() -> FoojayHelper.getJdkFromFoojay(any(), argThat(httpClient -> httpClient.getProxy() == mockProxy), eq("17"), eq("oracle_open_jdk"))).thenReturn(mockToolchain);
 
             mojo.execute();
 
@@ -242,6 +303,91 @@ class ToolchainInstallerMojoTest {
         }
     }
 
+    @Test
+    void testExecute_WhenOffline_ShouldOnlyUseLocalPackageIndex() throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17");
+        Map<String, Map<String, String>> toolchainMap = Map.of("jdk", jdkParams);
+
+        ToolchainPrivate mockToolchain = mock(ToolchainPrivate.class);
+        MavenExecutionRequest mockRequest = mock(MavenExecutionRequest.class);
+
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session))
+                .thenReturn(new ToolchainPrivate[0]);
+        when(session.isOffline()).thenReturn(true);
+        when(session.getRequest()).thenReturn(mockRequest);
+        when(mockRequest.getToolchains()).thenReturn(new HashMap<>());
+
+        try (MockedStatic<SdkmanHelper> sdkmanMock = mockStatic(SdkmanHelper.class);
+             MockedStatic<JBangHelper> jbangMock = mockStatic(JBangHelper.class);
+             MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
+
+            sdkmanMock.when(() -> SdkmanHelper.getJdkFromSdkman(any(), eq("17"))).thenReturn(null);
+            foojayMock.when(() -> FoojayHelper.getJdkFromLocalIndex(any(), eq("17"), eq("oracle_open_jdk"))).thenReturn(mockToolchain);
+
+            mojo.execute();
+
+            verify(toolchainManagerPrivate).storeToolchainToBuildContext(mockToolchain, session);
+            jbangMock.verify(() -> JBangHelper.getJdkFromJbang(any(), anyString(), anyString()), never());
+            foojayMock.verify(() -> FoojayHelper.getJdkFromFoojay(any(), any(), anyString(), anyString()), never());
+        }
+    }
+
+    @Test
+    void testExecute_WhenToolchainIsLocked_ShouldInstallPinnedPackageWithoutDiscovery() throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17", "vendor", "temurin");
+        Map<String, Map<String, String>> toolchainMap = Map.of("jdk", jdkParams);
+
+        Path lockFile = Files.writeString(homeDir.resolve(ToolchainLock.LOCK_FILE), """
+                {"toolchains": [{"vendor": "temurin", "version": "17", "packages": {"%s": {
+                  "id": "abc123", "fileName": "jdk.tar.gz", "downloadUrl": "https://example.com/jdk.tar.gz", "checksum": "", "checksumType": ""}}}]}
+                """.formatted(ToolchainLock.getCurrentPlatform()));
+
+        setField(mojo, "lockFile", lockFile.toFile());
+
+        ToolchainPrivate mockToolchain = mock(ToolchainPrivate.class);
+        Settings mockSettings = mock(Settings.class);
+        MavenExecutionRequest mockRequest = mock(MavenExecutionRequest.class);
+
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+        when(session.getSettings()).thenReturn(mockSettings);
+        when(session.getRequest()).thenReturn(mockRequest);
+        when(mockRequest.getToolchains()).thenReturn(new HashMap<>());
+
+        try (MockedStatic<SdkmanHelper> sdkmanMock = mockStatic(SdkmanHelper.class);
+             MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
+            foojayMock.when(() -> FoojayHelper.getJdkFromLock(any(), any(), any(ToolchainLock.class), eq("17"), eq("temurin"), eq(false))).thenReturn(mockToolchain);
+
+            mojo.execute();
+
+            verify(toolchainManagerPrivate).storeToolchainToBuildContext(mockToolchain, session);
+            sdkmanMock.verify(() -> SdkmanHelper.getJdkFromSdkman(any(), anyString()), never());
+            foojayMock.verify(() -> FoojayHelper.getJdkFromFoojay(any(), any(), anyString(), anyString()), never());
+        }
+    }
+
+    @Test
+    void testExecute_WhenOfflineAndJdkNotInstalled_ShouldFailFast() throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17");
+        Map<String, Map<String, String>> toolchainMap = Map.of("jdk", jdkParams);
+
+        setField(mojo, "offline", true);
+
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session))
+                .thenReturn(new ToolchainPrivate[0]);
+
+        try (MockedStatic<SdkmanHelper> sdkmanMock = mockStatic(SdkmanHelper.class);
+             MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
+
+            MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute());
+            assertTrue(exception.getMessage().contains("Running offline"));
+            foojayMock.verify(() -> FoojayHelper.getJdkFromFoojay(any(), any(), anyString(), anyString()), never());
+            verify(session, never()).getSettings();
+        }
+    }
+
     @Test
     void testExecute_WhenVendorSpecified_ShouldUseSpecifiedVendor() throws Exception {
         Map<String, String> jdkParams = Map.of("version", "17", "vendor", "openjdk");
@@ -261,7 +407,7 @@ class ToolchainInstallerMojoTest {
         when(mockRequest.getToolchains()).thenReturn(new HashMap<>());
 
         try (MockedStatic<FoojayHelper> foojayMock = mockStatic(FoojayHelper.class)) {
-            foojayMock.when(() -> FoojayHelper.getJdkFromFoojay(any(), eq(mockProxy), eq("17"), eq("openjdk"))).thenReturn(mockToolchain);
+            foojayMock.when(() -> FoojayHelper.getJdkFromFoojay(any(), argThat(httpClient -> httpClient.getProxy() == mockProxy), eq("17"), eq("openjdk"))).thenReturn(mockToolchain);
 
             mojo.execute();
 
@@ -334,6 +480,79 @@ class ToolchainInstallerMojoTest {
         verify(toolchainManagerPrivate).storeToolchainToBuildContext(mockTestToolchain, session);
     }
 
+    @Test
+    void testExecute_WhenToolchainResolvedByEarlierModule_ShouldReuseSessionCache() throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17");
+        Map<String, Map<String, String>> toolchainMap = Map.of("jdk", jdkParams);
+
+        ToolchainPrivate mockToolchain = mock(ToolchainPrivate.class);
+        RepositorySystemSession repositorySession = mock(RepositorySystemSession.class);
+
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[]{mockToolchain});
+        when(mockToolchain.getType()).thenReturn("jdk");
+        when(mockToolchain.matchesRequirements(jdkParams)).thenReturn(true);
+
+        mojo.execute();
+
+        ToolchainInstallerMojo nextModuleMojo = new ToolchainInstallerMojo();
+
+        setField(nextModuleMojo, "toolchainManagerPrivate", toolchainManagerPrivate);
+        setField(nextModuleMojo, "session", session);
+        setField(nextModuleMojo, "toolchains", toolchains);
+
+        nextModuleMojo.execute();
+
+        verify(toolchainManagerPrivate, times(1)).getToolchainsForType("jdk", session);
+        verify(toolchainManagerPrivate, times(2)).storeToolchainToBuildContext(mockToolchain, session);
+    }
+
+    @Test
+    void testExecute_WhenSeveralJdksMissing_ShouldInstallConcurrentlyAndRegisterInOrder(@TempDir Path tempDir) throws Exception {
+        Map<String, String> jdkParams = Map.of("version", "17", "vendor", "openjdk");
+        Map<String, String> testJdkParams = Map.of("version", "21", "vendor", "zulu");
+        Map<String, Map<String, String>> toolchainMap = new LinkedHashMap<>();
+        toolchainMap.put("jdk", jdkParams);
+        toolchainMap.put("testJdk", testJdkParams);
+
+        Path jdksDir = tempDir.resolve("jdks");
+        Files.writeString(Files.createDirectories(jdksDir.resolve("openjdk").resolve("17")).resolve("release"), "JAVA_VERSION=\"17\"");
+        Files.writeString(Files.createDirectories(jdksDir.resolve("zulu").resolve("21")).resolve("release"), "JAVA_VERSION=\"21\"");
+        Files.createDirectories(tempDir.resolve(".m2"));
+
+        MavenExecutionRequest mockRequest = mock(MavenExecutionRequest.class);
+
+        when(toolchains.getToolchains()).thenReturn(toolchainMap);
+        when(toolchainManagerPrivate.getToolchainsForType("jdk", session)).thenReturn(new ToolchainPrivate[0]);
+        when(session.getRequest()).thenReturn(mockRequest);
+        when(mockRequest.getToolchains()).thenReturn(new HashMap<>());
+
+        setField(mojo, "offline", true);
+        mojo.setLog(log);
+
+        String userHome = System.getProperty("user.home");
+
+        try {
+            System.setProperty("user.home", tempDir.toString());
+            System.setProperty("jdk.home", jdksDir.toString());
+
+            mojo.execute();
+        } finally {
+            System.setProperty("user.home", userHome);
+            System.clearProperty("jdk.home");
+        }
+
+        ArgumentCaptor<ToolchainPrivate> captor = ArgumentCaptor.forClass(ToolchainPrivate.class);
+
+        verify(toolchainManagerPrivate, times(2)).storeToolchainToBuildContext(captor.capture(), eq(session));
+        assertEquals("17", captor.getAllValues().get(0).getModel().getProvides().getProperty("version"));
+        assertEquals("21", captor.getAllValues().get(1).getModel().getProvides().getProperty("version"));
+        verify(log, atLeastOnce()).info(startsWith("[jdk] "));
+        verify(log, atLeastOnce()).info(startsWith("[testJdk] "));
+    }
+
     private void setField(Object target, String fieldName, Object value) throws Exception {
         Field field = target.getClass().getDeclaredField(fieldName);
         field.setAccessible(true);
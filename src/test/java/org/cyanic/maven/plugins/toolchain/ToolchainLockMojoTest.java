@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.cyanic.maven.plugins.toolchain.foojay.ToolchainLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ToolchainLockMojoTest {
+
+    @Mock
+    private MavenSession session;
+
+    @TempDir
+    Path tempDir;
+
+    private ToolchainLockMojo mojo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mojo = new ToolchainLockMojo();
+
+        setField(mojo, "session", session);
+        setField(mojo, "lockFile", tempDir.resolve(ToolchainLock.LOCK_FILE).toFile());
+    }
+
+    @Test
+    void testExecute_WhenToolchainsOnlyConfiguredInModules_ShouldLockAllOfThemOnce() throws Exception {
+        List<MavenProject> projects = List.of(mock(MavenProject.class), project("21", "temurin"), project("17", null), project("21", "temurin"));
+
+        when(session.getProjects()).thenReturn(projects);
+
+        ToolchainLock lock = mock(ToolchainLock.class);
+
+        try (MockedStatic<ToolchainLock> lockMock = mockStatic(ToolchainLock.class)) {
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Map.Entry<String, String>>> requirements = ArgumentCaptor.forClass(List.class);
+
+            lockMock.when(() -> ToolchainLock.getCurrentPlatform()).thenReturn("linux-x64");
+            lockMock.when(() -> ToolchainLock.resolve(any(), any(), requirements.capture(), anyList())).thenReturn(lock);
+
+            mojo.execute();
+
+            assertEquals(List.of(Map.entry("temurin", "21"), Map.entry(ToolchainResolver.DEFAULT_VENDOR, "17")), requirements.getValue());
+        }
+    }
+
+    @Test
+    void testExecute_WhenNoToolchainsConfigured_ShouldFail() {
+        when(session.getProjects()).thenReturn(List.of(mock(MavenProject.class)));
+
+        assertThrows(MojoFailureException.class, () -> mojo.execute());
+    }
+
+    private static MavenProject project(String version, String vendor) {
+        Xpp3Dom jdk = new Xpp3Dom("jdk");
+        jdk.addChild(element("version", version));
+
+        if (vendor != null) {
+            jdk.addChild(element("vendor", vendor));
+        }
+
+        Xpp3Dom toolchains = new Xpp3Dom("toolchains");
+        toolchains.addChild(jdk);
+
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(toolchains);
+
+        PluginExecution execution = new PluginExecution();
+        execution.setGoals(new ArrayList<>(List.of("install")));
+        execution.setConfiguration(configuration);
+
+        Plugin plugin = new Plugin();
+        plugin.addExecution(execution);
+
+        MavenProject project = mock(MavenProject.class);
+        when(project.getPlugin(InstallGoalConfigurations.PLUGIN_KEY)).thenReturn(plugin);
+
+        return project;
+    }
+
+    private static Xpp3Dom element(String name, String value) {
+        Xpp3Dom dom = new Xpp3Dom(name);
+        dom.setValue(value);
+
+        return dom;
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveExtractorTest {
+
+    private static final String ROOT = "jdk-17.0.2";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExtract_WhenTarGz_ShouldStripRootAndExtractFilesLinksAndPermissions() throws Exception {
+        Path target = tempDir.resolve("out");
+
+        ArchiveExtractor.extract(new ByteArrayInputStream(createTarGz()), "jdk.tar.gz", target);
+
+        Path java = target.resolve("bin").resolve("java");
+        assertEquals("java", Files.readString(java));
+        assertTrue(Files.isExecutable(java));
+
+        Path link = target.resolve("lib").resolve("java-link");
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals(Paths.get("../bin/java"), Files.readSymbolicLink(link));
+
+        assertEquals("JAVA_VERSION=\"17.0.2\"", Files.readString(target.resolve("release")));
+    }
+
+    @Test
+    void testExtract_WhenZip_ShouldStripRootAndExtractFiles() throws Exception {
+        Path target = tempDir.resolve("out");
+
+        ArchiveExtractor.extract(new ByteArrayInputStream(createZip()), "jdk.zip", target);
+
+        assertEquals("java", Files.readString(target.resolve("bin").resolve("java.exe")));
+        assertEquals("JAVA_VERSION=\"17.0.2\"", Files.readString(target.resolve("release")));
+    }
+
+    @Test
+    void testExtract_WhenArchiveHasStrayTopLevelEntries_ShouldSkipThem() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addFile(tarOut, "./._" + ROOT, "apple double", 0644);
+            addFile(tarOut, "./" + ROOT + "/release", "JAVA_VERSION=\"17.0.2\"", 0644);
+            addFile(tarOut, "./._other/release", "JAVA_VERSION=\"21\"", 0644);
+        }
+
+        Path target = tempDir.resolve("out");
+
+        ArchiveExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), "jdk.tar.gz", target);
+
+        assertEquals("JAVA_VERSION=\"17.0.2\"", Files.readString(target.resolve("release")));
+
+        try (Stream<Path> children = Files.list(target)) {
+            assertEquals(1, children.count());
+        }
+    }
+
+    @Test
+    void testExtract_WhenSymlinkIsAbsolute_ShouldFailWithoutWritingThroughIt() throws Exception {
+        Path outside = Files.createDirectories(tempDir.resolve("home"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addSymlink(tarOut, ROOT + "/lib", outside.toString());
+            addFile(tarOut, ROOT + "/lib/.bashrc", "evil", 0644);
+        }
+
+        assertThrows(IOException.class, () -> ArchiveExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), "jdk.tar.gz", tempDir.resolve("out")));
+
+        assertFalse(Files.exists(outside.resolve(".bashrc")));
+    }
+
+    @Test
+    void testExtract_WhenSymlinkEscapesTarget_ShouldFailWithoutWritingThroughIt() throws Exception {
+        Path outside = Files.createDirectories(tempDir.resolve("home"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addSymlink(tarOut, ROOT + "/lib", "../home");
+            addFile(tarOut, ROOT + "/lib/.bashrc", "evil", 0644);
+        }
+
+        assertThrows(IOException.class, () -> ArchiveExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), "jdk.tar.gz", tempDir.resolve("out")));
+
+        assertFalse(Files.exists(outside.resolve(".bashrc")));
+    }
+
+    @Test
+    void testExtract_WhenSymlinksChainOutOfTarget_ShouldFailWithoutWritingThroughThem() throws Exception {
+        Path outside = Files.createDirectories(tempDir.resolve("home"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addSymlink(tarOut, ROOT + "/lib/here", ".");
+            addSymlink(tarOut, ROOT + "/lib/up", "here/../../home");
+            addFile(tarOut, ROOT + "/lib/up/.bashrc", "evil", 0644);
+        }
+
+        assertThrows(IOException.class, () -> ArchiveExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), "jdk.tar.gz", tempDir.resolve("out")));
+
+        assertFalse(Files.exists(outside.resolve(".bashrc")));
+    }
+
+    @Test
+    void testExtract_WhenEntryEscapesTarget_ShouldFail() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addFile(tarOut, ROOT + "/../../evil", "evil", 0644);
+        }
+
+        assertThrows(IOException.class, () -> ArchiveExtractor.extract(new ByteArrayInputStream(bytes.toByteArray()), "jdk.tgz", tempDir.resolve("out")));
+    }
+
+    static byte[] createTarGz() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            TarArchiveEntry rootEntry = new TarArchiveEntry(ROOT + "/");
+            tarOut.putArchiveEntry(rootEntry);
+            tarOut.closeArchiveEntry();
+
+            addFile(tarOut, ROOT + "/bin/java", "java", 0755);
+            addFile(tarOut, ROOT + "/release", "JAVA_VERSION=\"17.0.2\"", 0644);
+
+            TarArchiveEntry linkEntry = new TarArchiveEntry(ROOT + "/lib/java-link", TarArchiveEntry.LF_SYMLINK);
+            linkEntry.setLinkName("../bin/java");
+            tarOut.putArchiveEntry(linkEntry);
+            tarOut.closeArchiveEntry();
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static byte[] createZip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(bytes)) {
+            zipOut.putArchiveEntry(new ZipArchiveEntry(ROOT + "/"));
+            zipOut.closeArchiveEntry();
+
+            addFile(zipOut, ROOT + "/bin/java.exe", "java");
+            addFile(zipOut, ROOT + "/release", "JAVA_VERSION=\"17.0.2\"");
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void addFile(TarArchiveOutputStream tarOut, String name, String content, int mode) throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(data.length);
+        entry.setMode(mode);
+
+        tarOut.putArchiveEntry(entry);
+        tarOut.write(data);
+        tarOut.closeArchiveEntry();
+    }
+
+    private static void addSymlink(TarArchiveOutputStream tarOut, String name, String linkName) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name, TarArchiveEntry.LF_SYMLINK);
+        entry.setLinkName(linkName);
+
+        tarOut.putArchiveEntry(entry);
+        tarOut.closeArchiveEntry();
+    }
+
+    private static void addFile(ZipArchiveOutputStream zipOut, String name, String content) throws IOException {
+        zipOut.putArchiveEntry(new ZipArchiveEntry(name));
+        zipOut.write(content.getBytes(StandardCharsets.UTF_8));
+        zipOut.closeArchiveEntry();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractionBackendsTest {
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ExtractionBackends.BACKEND_PROPERTY);
+    }
+
+    @Test
+    void testSelect_WhenJavaBackendRequested_ShouldUseJavaBackend() {
+        System.setProperty(ExtractionBackends.BACKEND_PROPERTY, "java");
+
+        assertSame(JavaExtractionBackend.INSTANCE, ExtractionBackends.select("jdk.tar.gz"));
+        assertSame(JavaExtractionBackend.INSTANCE, ExtractionBackends.select("jdk.zip"));
+    }
+
+    @Test
+    void testSelect_WhenAutoAndZip_ShouldPreferParallelJavaBackend() {
+        assertSame(JavaExtractionBackend.INSTANCE, ExtractionBackends.select("jdk.zip"));
+    }
+
+    @Test
+    void testExtract_WhenNativeTarAvailable_ShouldStripRootAndKeepLinks() throws Exception {
+        assumeTrue(NativeExtractionBackend.get().supports("jdk.tar.gz"));
+
+        Path archive = tempDir.resolve("jdk.tar.gz");
+        Files.write(archive, ArchiveExtractorTest.createTarGz());
+
+        Path target = tempDir.resolve("out");
+
+        ExtractionBackends.extract(log, archive, target);
+
+        verify(log).info("Extracting jdk.tar.gz using " + NativeExtractionBackend.get().getName() + " backend");
+
+        assertEquals("java", Files.readString(target.resolve("bin").resolve("java")));
+        assertTrue(Files.isExecutable(target.resolve("bin").resolve("java")));
+        assertEquals(Paths.get("../bin/java"), Files.readSymbolicLink(target.resolve("lib").resolve("java-link")));
+    }
+
+    @Test
+    void testExtract_WhenNativeTarHasStrayTopLevelEntries_ShouldLiftJdkRoot() throws Exception {
+        assumeTrue(NativeExtractionBackend.get().supports("jdk.tar.gz"));
+
+        System.setProperty(ExtractionBackends.BACKEND_PROPERTY, "native");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addFile(tarOut, "._jdk-17.0.2", "apple double");
+            addFile(tarOut, "jdk-17.0.2/release", "JAVA_VERSION=\"17.0.2\"");
+            addFile(tarOut, "__MACOSX/jdk-17.0.2/._release", "apple double");
+        }
+
+        Path archive = tempDir.resolve("jdk.tar.gz");
+        Files.write(archive, bytes.toByteArray());
+
+        Path target = tempDir.resolve("out");
+
+        ExtractionBackends.extract(log, archive, target);
+
+        assertEquals("JAVA_VERSION=\"17.0.2\"", Files.readString(target.resolve("release")));
+        assertFalse(Files.exists(target.resolveSibling("out.root")));
+    }
+
+    @Test
+    void testExtract_WhenNativeUnzipRequested_ShouldStripRoot() throws Exception {
+        assumeTrue(NativeExtractionBackend.get().supports("jdk.zip"));
+
+        System.setProperty(ExtractionBackends.BACKEND_PROPERTY, "native");
+
+        Path archive = tempDir.resolve("jdk.zip");
+        Files.write(archive, ArchiveExtractorTest.createZip());
+
+        Path target = tempDir.resolve("out");
+
+        ExtractionBackends.extract(log, archive, target);
+
+        assertEquals("java", Files.readString(target.resolve("bin").resolve("java.exe")));
+    }
+
+    private static void addFile(TarArchiveOutputStream tarOut, String name, String content) throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(data.length);
+
+        tarOut.putArchiveEntry(entry);
+        tarOut.write(data);
+        tarOut.closeArchiveEntry();
+    }
+}
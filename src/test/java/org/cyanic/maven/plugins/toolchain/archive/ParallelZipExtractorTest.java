@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.archive;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelZipExtractorTest {
+
+    private static final String ROOT = "jdk-21.0.4";
+
+    private static final int FILES = 200;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ParallelZipExtractor.THREADS_PROPERTY);
+    }
+
+    @Test
+    void testExtract_WhenManyEntries_ShouldExtractAllInParallel() throws Exception {
+        System.setProperty(ParallelZipExtractor.THREADS_PROPERTY, "4");
+
+        Path archive = tempDir.resolve("jdk.zip");
+
+        createZip(archive);
+
+        Path target = tempDir.resolve("out");
+
+        ArchiveExtractor.extract(archive, target);
+
+        for (int i = 0; i < FILES; i++) {
+            assertArrayEquals(content(i), Files.readAllBytes(target.resolve("lib").resolve("file-" + i + ".bin")));
+        }
+
+        assertEquals("JAVA_VERSION=\"21.0.4\"", Files.readString(target.resolve("release")));
+    }
+
+    @Test
+    void testExtract_WhenUnixSymlink_ShouldCreateLink() throws Exception {
+        Path archive = tempDir.resolve("jdk.zip");
+
+        createZip(archive);
+
+        Path target = tempDir.resolve("out");
+
+        ParallelZipExtractor.extract(archive, target);
+
+        Path link = target.resolve("bin").resolve("release-link");
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals(Paths.get("../release"), Files.readSymbolicLink(link));
+    }
+
+    @Test
+    void testExtract_WhenUnixSymlinkPointsOutside_ShouldFailWithoutWritingThroughIt() throws Exception {
+        Path outside = Files.createDirectories(tempDir.resolve("home"));
+
+        Path archive = tempDir.resolve("jdk.zip");
+
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(archive)) {
+            ZipArchiveEntry link = new ZipArchiveEntry(ROOT + "/lib");
+            link.setUnixMode(0120777);
+            zipOut.putArchiveEntry(link);
+            zipOut.write(outside.toString().getBytes(StandardCharsets.UTF_8));
+            zipOut.closeArchiveEntry();
+
+            zipOut.putArchiveEntry(new ZipArchiveEntry(ROOT + "/lib/.bashrc"));
+            zipOut.write("evil".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeArchiveEntry();
+        }
+
+        assertThrows(IOException.class, () -> ParallelZipExtractor.extract(archive, tempDir.resolve("out")));
+
+        assertFalse(Files.exists(outside.resolve(".bashrc")));
+    }
+
+    @Test
+    void testExtract_WhenEntryIsCorrupted_ShouldFailOnCrcMismatch() throws Exception {
+        Path archive = tempDir.resolve("jdk.zip");
+
+        byte[] data = "JAVA_VERSION=\"21.0.4\"".getBytes(StandardCharsets.UTF_8);
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(archive)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(ROOT + "/release");
+            entry.setMethod(ZipArchiveEntry.STORED);
+            entry.setSize(data.length);
+            entry.setCrc(crc.getValue());
+            zipOut.putArchiveEntry(entry);
+            zipOut.write(data);
+            zipOut.closeArchiveEntry();
+        }
+
+        byte[] bytes = Files.readAllBytes(archive);
+
+        int offset = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("21.0.4\"");
+
+        bytes[offset] = '3';
+
+        Files.write(archive, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> ParallelZipExtractor.extract(archive, tempDir.resolve("out")));
+
+        assertTrue(e.getMessage().startsWith("CRC mismatch for " + ROOT + "/release"));
+    }
+
+    private static void createZip(Path archive) throws IOException {
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(archive)) {
+            zipOut.putArchiveEntry(new ZipArchiveEntry(ROOT + "/"));
+            zipOut.closeArchiveEntry();
+
+            for (int i = 0; i < FILES; i++) {
+                byte[] data = content(i);
+
+                ZipArchiveEntry entry = new ZipArchiveEntry(ROOT + "/lib/file-" + i + ".bin");
+
+                if (i % 3 == 0) {
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+
+                    entry.setMethod(ZipArchiveEntry.STORED);
+                    entry.setSize(data.length);
+                    entry.setCrc(crc.getValue());
+                }
+
+                zipOut.putArchiveEntry(entry);
+                zipOut.write(data);
+                zipOut.closeArchiveEntry();
+            }
+
+            zipOut.putArchiveEntry(new ZipArchiveEntry(ROOT + "/release"));
+            zipOut.write("JAVA_VERSION=\"21.0.4\"".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeArchiveEntry();
+
+            ZipArchiveEntry link = new ZipArchiveEntry(ROOT + "/bin/release-link");
+            link.setUnixMode(0120777);
+            zipOut.putArchiveEntry(link);
+            zipOut.write("../release".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeArchiveEntry();
+        }
+    }
+
+    private static byte[] content(int index) {
+        byte[] data = new byte[1024 + index * 97];
+
+        Random random = new Random(index);
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(4));
+        }
+
+        return data;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuturesTest {
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void testAwait_WhenTaskCompletes_ShouldReturnResult() throws Exception {
+        assertEquals("done", Futures.await(CompletableFuture.completedFuture("done"), "testing", IOException.class, IOException::new));
+    }
+
+    @Test
+    void testAwait_WhenTaskFailsWithExpectedType_ShouldRethrowIt() {
+        IOException failure = new IOException("boom");
+
+        IOException e = assertThrows(IOException.class, () -> Futures.await(CompletableFuture.failedFuture(failure), "testing", IOException.class, IOException::new));
+
+        assertSame(failure, e);
+    }
+
+    @Test
+    void testAwait_WhenTaskFailsWithOtherType_ShouldWrapIt() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IOException e = assertThrows(IOException.class, () -> Futures.await(CompletableFuture.failedFuture(failure), "testing", IOException.class, IOException::new));
+
+        assertEquals("Failed while testing", e.getMessage());
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void testAwait_WhenInterrupted_ShouldRestoreInterruptAndWrap() {
+        Thread.currentThread().interrupt();
+
+        IOException e = assertThrows(IOException.class, () -> Futures.await(new CompletableFuture<String>(), "testing", IOException.class, IOException::new));
+
+        assertEquals("Interrupted while testing", e.getMessage());
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveDownloaderTest {
+
+    private static final byte[] CONTENT = randomContent(20 * 1024 * 1024 + 123);
+
+    private static final String LAST_MODIFIED = "Tue, 15 Oct 2024 10:00:00 GMT";
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+
+    private final AtomicInteger fullRequests = new AtomicInteger();
+
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private volatile int truncateResponsesAt = -1;
+
+    private volatile String etag = "\"jdk-17\"";
+
+    private volatile boolean ignoreRanges;
+
+    private final List<String> ifRangeHeaders = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+        server.createContext("/ranged/jdk.tar.gz", exchange -> serve(exchange, true));
+        server.createContext("/plain/jdk.tar.gz", exchange -> serve(exchange, false));
+
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+
+        server.stop(0);
+    }
+
+    @Test
+    void testDownload_WhenServerSupportsRanges_ShouldDownloadInSegments() throws Exception {
+        Path destFile = tempDir.resolve("jdk.tar.gz");
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        ArchiveDownloader.download(log, httpClient, url("/ranged/jdk.tar.gz"), destFile, digest);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destFile));
+        assertArrayEquals(sha256(CONTENT), digest.digest());
+        assertEquals(2, rangeRequests.get());
+        assertEquals(0, fullRequests.get());
+    }
+
+    @Test
+    void testDownload_WhenServerDoesNotSupportRanges_ShouldFallBackToSingleStream() throws Exception {
+        Path destFile = tempDir.resolve("jdk.tar.gz");
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        ArchiveDownloader.download(log, httpClient, url("/plain/jdk.tar.gz"), destFile, digest);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destFile));
+        assertArrayEquals(sha256(CONTENT), digest.digest());
+        assertEquals(0, rangeRequests.get());
+        assertEquals(1, fullRequests.get());
+    }
+
+    @Test
+    void testDownload_WhenInterrupted_ShouldResumeFromPartialFile() throws Exception {
+        Path destFile = tempDir.resolve("jdk.tar.gz");
+
+        truncateResponsesAt = 1024 * 1024;
+
+        assertThrows(IOException.class, () -> ArchiveDownloader.download(log, httpClient, url("/ranged/jdk.tar.gz"), destFile, null));
+
+        assertFalse(Files.exists(destFile));
+        assertTrue(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.PART_SUFFIX)));
+        assertTrue(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.STATE_SUFFIX)));
+
+        truncateResponsesAt = -1;
+        bytesServed.set(0);
+
+        ArchiveDownloader.download(log, httpClient, url("/ranged/jdk.tar.gz"), destFile, null);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destFile));
+        assertTrue(bytesServed.get() < CONTENT.length);
+        assertFalse(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.PART_SUFFIX)));
+        assertFalse(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.STATE_SUFFIX)));
+    }
+
+    @Test
+    void testDownload_WhenEtagIsWeak_ShouldSendLastModifiedInIfRange() throws Exception {
+        Path destFile = tempDir.resolve("jdk.tar.gz");
+
+        etag = "W/\"jdk-17\"";
+
+        ArchiveDownloader.download(log, httpClient, url("/ranged/jdk.tar.gz"), destFile, null);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destFile));
+        assertEquals(2, rangeRequests.get());
+        assertEquals(0, fullRequests.get());
+        assertEquals(List.of(LAST_MODIFIED, LAST_MODIFIED), ifRangeHeaders);
+    }
+
+    @Test
+    void testDownload_WhenServerIgnoresRange_ShouldRestartInSingleStream() throws Exception {
+        Path destFile = tempDir.resolve("jdk.tar.gz");
+
+        ignoreRanges = true;
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        ArchiveDownloader.download(log, httpClient, url("/ranged/jdk.tar.gz"), destFile, digest);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destFile));
+        assertArrayEquals(sha256(CONTENT), digest.digest());
+        assertEquals(0, rangeRequests.get());
+        assertFalse(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.PART_SUFFIX)));
+        assertFalse(Files.exists(tempDir.resolve("jdk.tar.gz" + ArchiveDownloader.STATE_SUFFIX)));
+    }
+
+    @Test
+    void testGetValidator_WhenEtagIsWeak_ShouldReturnLastModified() {
+        assertEquals("\"jdk-17\"", ArchiveDownloader.getValidator(new BasicHeader("ETag", "\"jdk-17\""), new BasicHeader("Last-Modified", LAST_MODIFIED)));
+        assertEquals(LAST_MODIFIED, ArchiveDownloader.getValidator(new BasicHeader("ETag", "W/\"jdk-17\""), new BasicHeader("Last-Modified", LAST_MODIFIED)));
+        assertNull(ArchiveDownloader.getValidator(new BasicHeader("ETag", "W/\"jdk-17\""), null));
+    }
+
+    @Test
+    void testGetConnections_WhenPropertyIsInvalid_ShouldReturnDefault() {
+        System.setProperty(ArchiveDownloader.CONNECTIONS_PROPERTY, "many");
+
+        try {
+            assertEquals(ArchiveDownloader.DEFAULT_CONNECTIONS, ArchiveDownloader.getConnections());
+        } finally {
+            System.clearProperty(ArchiveDownloader.CONNECTIONS_PROPERTY);
+        }
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private void serve(HttpExchange exchange, boolean rangesSupported) throws IOException {
+        if (rangesSupported) {
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+        }
+
+        exchange.getResponseHeaders().add("Content-Length", String.valueOf(CONTENT.length));
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+
+            return;
+        }
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+
+        if (ifRange != null) {
+            ifRangeHeaders.add(ifRange);
+
+            // A weak or stale validator means the range must be ignored and the full representation sent
+            if (ifRange.startsWith("W/") || !(ifRange.equals(etag) || ifRange.equals(LAST_MODIFIED))) {
+                range = null;
+            }
+        }
+
+        if (ignoreRanges) {
+            range = null;
+        }
+
+        int start = 0;
+        int end = CONTENT.length - 1;
+        int status = 200;
+
+        if (rangesSupported && range != null) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+
+            start = Integer.parseInt(bounds[0]);
+            end = Integer.parseInt(bounds[1]);
+            status = 206;
+
+            rangeRequests.incrementAndGet();
+        } else {
+            fullRequests.incrementAndGet();
+        }
+
+        int length = end - start + 1;
+
+        if (truncateResponsesAt > 0) {
+            length = Math.min(length, truncateResponsesAt);
+
+            exchange.getResponseHeaders().remove("Content-Length");
+            exchange.sendResponseHeaders(status, 0);
+        } else {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(status, length);
+        }
+
+        bytesServed.addAndGet(length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(CONTENT, start, length);
+        }
+    }
+
+    private static byte[] sha256(byte[] content) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(content);
+    }
+
+    private static byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+
+        new Random(42).nextBytes(content);
+
+        return content;
+    }
+}
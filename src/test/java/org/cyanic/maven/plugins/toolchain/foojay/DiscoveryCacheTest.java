@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+class DiscoveryCacheTest {
+
+    private static final String BODY = "{\"result\":[{\"filename\":\"jdk.tar.gz\"}]}";
+
+    private static final String ETAG = "\"packages-1\"";
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private final AtomicInteger fullResponses = new AtomicInteger();
+
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+        server.createContext("/packages", this::serve);
+
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.clearProperty(DiscoveryCache.TTL_PROPERTY);
+
+        httpClient.close();
+
+        server.stop(0);
+    }
+
+    @Test
+    void testFetch_WhenEntryIsFresh_ShouldNotContactServer() throws Exception {
+        assertEquals(BODY, new DiscoveryCache(tempDir).fetch(log, httpClient, url("/packages?version=21")));
+        assertEquals(BODY, new DiscoveryCache(tempDir).fetch(log, httpClient, url("/packages?version=21")));
+
+        assertEquals(1, fullResponses.get());
+        assertEquals(0, notModifiedResponses.get());
+    }
+
+    @Test
+    void testFetch_WhenEntryIsStale_ShouldRevalidateWithETag() throws Exception {
+        System.setProperty(DiscoveryCache.TTL_PROPERTY, "0");
+
+        assertEquals(BODY, new DiscoveryCache(tempDir).fetch(log, httpClient, url("/packages?version=21")));
+        assertEquals(BODY, new DiscoveryCache(tempDir).fetch(log, httpClient, url("/packages?version=21")));
+
+        assertEquals(1, fullResponses.get());
+        assertEquals(1, notModifiedResponses.get());
+    }
+
+    @Test
+    void testFetch_WhenServerReturnsError_ShouldReturnNull() throws Exception {
+        assertNull(new DiscoveryCache(tempDir).fetch(log, httpClient, url("/missing")));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedResponses.incrementAndGet();
+
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+
+            return;
+        }
+
+        fullResponses.incrementAndGet();
+
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
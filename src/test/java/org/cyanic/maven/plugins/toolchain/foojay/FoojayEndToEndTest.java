@@ -0,0 +1,295 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.java.DefaultJavaToolChain;
+import org.cyanic.maven.plugins.toolchain.metrics.Phase;
+import org.cyanic.maven.plugins.toolchain.metrics.ProvisioningMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class FoojayEndToEndTest {
+
+    private static final String ORIGINAL_USER_HOME = System.getProperty("user.home");
+
+    private static final byte[] ARCHIVE = createArchive();
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    private FoojayStubServer server;
+
+    private Path jdksDir;
+
+    private FoojayHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = FoojayStubServer.start().addJdk("temurin", "21", ARCHIVE);
+
+        jdksDir = tempDir.resolve("jdks");
+
+        httpClient = new FoojayHttpClient(null);
+
+        System.setProperty("user.home", tempDir.toString());
+        System.setProperty("jdk.home", jdksDir.toString());
+        System.setProperty(FoojayService.BASE_URL_PROPERTY, server.getBaseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", ORIGINAL_USER_HOME);
+        System.clearProperty("jdk.home");
+        System.clearProperty(FoojayService.BASE_URL_PROPERTY);
+
+        httpClient.close();
+
+        server.close();
+    }
+
+    @Test
+    void testGetJdkFromFoojay_WhenColdCache_ShouldDiscoverDownloadExtractAndRegister() throws Exception {
+        server.setLatency(50);
+
+        ToolchainPrivate toolchain;
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            toolchain = FoojayHelper.getJdkFromFoojay(log, httpClient, "21", "temurin");
+
+            assertEquals(1, metrics.getCalls(Phase.DOWNLOAD));
+            assertEquals(ARCHIVE.length, metrics.getBytes(Phase.DOWNLOAD));
+            assertEquals(1, metrics.getCalls(Phase.EXTRACTION));
+            assertTrue(metrics.getNanos(Phase.FOOJAY_DISCOVERY) >= TimeUnit.MILLISECONDS.toNanos(2 * 50));
+        }
+
+        Path jdkHome = jdksDir.resolve("temurin").resolve("21");
+
+        assertEquals(jdkHome.toAbsolutePath().toString(), assertInstanceOf(DefaultJavaToolChain.class, toolchain).getJavaHome());
+        assertEquals("JAVA_VERSION=\"21\"", Files.readString(jdkHome.resolve("release")));
+        assertTrue(Files.isExecutable(jdkHome.resolve("bin").resolve("java")));
+        assertTrue(Files.readString(tempDir.resolve(".m2").resolve("toolchains.xml")).contains(jdkHome.toAbsolutePath().toString()));
+        assertEquals(2, server.getDiscoveryRequests());
+        assertEquals(ARCHIVE.length, server.getBytesServed());
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenWarmCache_ShouldNotUseNetwork() throws Exception {
+        Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+        server.resetCounters();
+        server.setLatency(200);
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            assertEquals(jdkHome, FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin"));
+
+            assertEquals(0, metrics.getCalls(Phase.FOOJAY_DISCOVERY));
+            assertEquals(0, metrics.getCalls(Phase.DOWNLOAD));
+        }
+
+        assertEquals(0, server.getDiscoveryRequests());
+        assertEquals(0, server.getDownloadRequests());
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenOnlyDiscoveryCached_ShouldDownloadWithoutDiscovery() throws Exception {
+        Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+        FileUtils.deleteDirectory(jdkHome.toFile());
+
+        server.resetCounters();
+
+        assertEquals(jdkHome, FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin"));
+
+        assertEquals(0, server.getDiscoveryRequests());
+        assertEquals(ARCHIVE.length, server.getBytesServed());
+        assertTrue(Files.exists(jdkHome.resolve("release")));
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenBandwidthCapped_ShouldTakeAtLeastTransferTime() throws Exception {
+        server.setBandwidth(4L * 1024 * 1024);
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+            assertTrue(metrics.getNanos(Phase.DOWNLOAD) >= TimeUnit.SECONDS.toNanos(ARCHIVE.length) / (4L * 1024 * 1024));
+        }
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenRangesNotSupported_ShouldDownloadInSingleStream() throws Exception {
+        server.setRangesSupported(false);
+
+        Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+        assertTrue(Files.exists(jdkHome.resolve("release")));
+        assertEquals(0, server.getRangeRequests());
+        assertEquals(1, server.getDownloadRequests());
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenConnectionDropped_ShouldResumeOnRetry() throws Exception {
+        server.dropConnections(1, ARCHIVE.length / 2);
+
+        assertThrows(IOException.class, () -> FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin"));
+
+        assertTrue(Files.exists(jdksDir.resolve("temurin-21.tar.gz" + ArchiveDownloader.PART_SUFFIX)));
+
+        server.resetCounters();
+
+        Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+        assertTrue(Files.exists(jdkHome.resolve("release")));
+        assertTrue(server.getBytesServed() < ARCHIVE.length);
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenPinnedPackageDiffersFromUnindexedInstall_ShouldInstallAlongsideIt() throws Exception {
+        Path sharedDir = Files.createDirectories(jdksDir.resolve("temurin").resolve("21"));
+        Files.writeString(sharedDir.resolve("release"), "JAVA_VERSION=\"21.0.1\"");
+
+        FoojayPackage pinned = FoojayService.findPackage(log, httpClient, new DiscoveryCache(jdksDir), "21", "temurin", FoojayService.getPlatform());
+
+        Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin", pinned);
+
+        assertEquals(jdksDir.resolve("temurin").resolve("21-temurin-21"), jdkHome);
+        assertEquals("JAVA_VERSION=\"21\"", Files.readString(jdkHome.resolve("release")));
+        assertEquals("JAVA_VERSION=\"21.0.1\"", Files.readString(sharedDir.resolve("release")));
+
+        server.resetCounters();
+
+        assertEquals(jdkHome, FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin", pinned));
+        assertEquals(0, server.getDownloadRequests());
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenPinnedPackageMatchesUnindexedInstall_ShouldReuseIt() throws Exception {
+        Path sharedDir = Files.createDirectories(jdksDir.resolve("temurin").resolve("21"));
+        Files.writeString(sharedDir.resolve("release"), "JAVA_VERSION=\"21\"");
+
+        FoojayPackage pinned = FoojayService.findPackage(log, httpClient, new DiscoveryCache(jdksDir), "21", "temurin", FoojayService.getPlatform());
+
+        assertEquals(sharedDir, FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin", pinned));
+
+        assertEquals(0, server.getDownloadRequests());
+        assertEquals(sharedDir, LocalPackageIndex.find(jdksDir, "temurin", "21", pinned.fileName()));
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenRequirementsShareArchive_ShouldNotCollideOnIt() throws Exception {
+        server.setBandwidth(8L * 1024 * 1024);
+
+        FoojayPackage pinned = FoojayService.findPackage(log, httpClient, new DiscoveryCache(jdksDir), "21", "temurin", FoojayService.getPlatform());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Path> first = executor.submit(() -> FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin", pinned));
+            Future<Path> second = executor.submit(() -> FoojayService.downloadAndExtractJdk(log, httpClient, "21.0", "temurin", pinned));
+
+            assertEquals("JAVA_VERSION=\"21\"", Files.readString(first.get().resolve("release")));
+            assertEquals("JAVA_VERSION=\"21\"", Files.readString(second.get().resolve("release")));
+        }
+
+        assertTrue(Files.notExists(jdksDir.resolve(pinned.fileName())));
+        assertTrue(Files.notExists(jdksDir.resolve(pinned.fileName() + ArchiveDownloader.PART_SUFFIX)));
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenStreaming_ShouldTimeDownloadAndExtractionSeparately() throws Exception {
+        server.setBandwidth(4L * 1024 * 1024);
+
+        System.setProperty(FoojayService.STREAMING_PROPERTY, "true");
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            Path jdkHome = FoojayService.downloadAndExtractJdk(log, httpClient, "21", "temurin");
+
+            assertEquals("JAVA_VERSION=\"21\"", Files.readString(jdkHome.resolve("release")));
+            assertEquals(1, metrics.getCalls(Phase.DOWNLOAD));
+            assertEquals(1, metrics.getCalls(Phase.EXTRACTION));
+            assertEquals(ARCHIVE.length, metrics.getBytes(Phase.DOWNLOAD));
+            assertEquals(ARCHIVE.length, metrics.getBytes(Phase.EXTRACTION));
+            assertTrue(metrics.getNanos(Phase.DOWNLOAD) >= TimeUnit.SECONDS.toNanos(ARCHIVE.length) / (4L * 1024 * 1024));
+        } finally {
+            System.clearProperty(FoojayService.STREAMING_PROPERTY);
+        }
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenStreamingChecksumMismatches_ShouldLeaveNoInstallation() throws Exception {
+        server.addJdk("temurin", "22", ARCHIVE, "0".repeat(64));
+
+        System.setProperty(FoojayService.STREAMING_PROPERTY, "true");
+
+        try {
+            IOException e = assertThrows(IOException.class, () -> FoojayService.downloadAndExtractJdk(log, httpClient, "22", "temurin"));
+
+            assertTrue(e.getMessage().startsWith("Checksum mismatch"));
+        } finally {
+            System.clearProperty(FoojayService.STREAMING_PROPERTY);
+        }
+
+        Path vendorDir = jdksDir.resolve("temurin");
+
+        assertTrue(Files.notExists(vendorDir.resolve("22")));
+
+        try (Stream<Path> files = Files.list(vendorDir)) {
+            assertEquals(List.of(), files.filter(file -> file.getFileName().toString().startsWith(".22.staging-")).toList());
+        }
+    }
+
+    @Test
+    void testDownloadAndExtractJdk_WhenPackageUnknown_ShouldReturnNull() throws Exception {
+        assertNull(FoojayService.downloadAndExtractJdk(log, httpClient, "8", "temurin"));
+
+        assertEquals(0, server.getDownloadRequests());
+    }
+
+    private static byte[] createArchive() {
+        try {
+            return FoojayStubServer.createJdkArchive("21", 1024 * 1024);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -18,7 +18,6 @@ package org.cyanic.maven.plugins.toolchain.foojay;
 
 import org.apache.maven.plugin.logging.Log;
 import org.cyanic.maven.plugins.toolchain.xml.ToolchainXmlHelper;
-import org.apache.maven.settings.Proxy;
 import org.apache.maven.toolchain.ToolchainPrivate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,7 +46,7 @@ public class FoojayHelperTest {
     private Log log;
 
     @Mock
-    private Proxy proxySettings;
+    private FoojayHttpClient httpClient;
 
     @Test
     void testGetJdkFromFoojay_AndJdkExists_ShouldReturnToolchain() {
@@ -55,12 +54,12 @@ public class FoojayHelperTest {
 
         try (MockedStatic<FoojayService> foojayServiceMock = mockStatic(FoojayService.class);
              MockedStatic<ToolchainXmlHelper> toolchainXmlHelperMock = mockStatic(ToolchainXmlHelper.class)) {
-            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, proxySettings, JDK_VERSION, JDK_VENDOR)).thenReturn(jdkHomeMock);
+            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, httpClient, JDK_VERSION, JDK_VENDOR)).thenReturn(jdkHomeMock);
 
             ToolchainPrivate toolchainPrivateMock = mock(ToolchainPrivate.class);
             toolchainXmlHelperMock.when(() -> ToolchainXmlHelper.addJDKToToolchains(jdkHomeMock, JDK_VERSION, JDK_VENDOR)).thenReturn(toolchainPrivateMock);
 
-            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, proxySettings, JDK_VERSION, JDK_VENDOR);
+            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, httpClient, JDK_VERSION, JDK_VENDOR);
 
             assertEquals(toolchainPrivateMock, toolchain);
             verify(log).info("Adding JDK to toolchains.xml");
@@ -70,9 +69,9 @@ public class FoojayHelperTest {
     @Test
     void testGetJdkFromFoojay_AndJdkDoesntExist_ShouldReturnNull() {
         try (MockedStatic<FoojayService> foojayServiceMock = mockStatic(FoojayService.class)) {
-            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, proxySettings, JDK_VERSION, JDK_VENDOR)).thenReturn(null);
+            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, httpClient, JDK_VERSION, JDK_VENDOR)).thenReturn(null);
 
-            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, proxySettings, JDK_VERSION, JDK_VENDOR);
+            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, httpClient, JDK_VERSION, JDK_VENDOR);
 
             assertNull(toolchain);
             verify(log).info("Couldn't download JDK with Foojay");
@@ -82,9 +81,9 @@ public class FoojayHelperTest {
     @Test
     void testGetJdkFromFoojay_AndException_ShouldLogError() {
         try (MockedStatic<FoojayService> foojayServiceMock = mockStatic(FoojayService.class)) {
-            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, proxySettings, JDK_VERSION, JDK_VENDOR)).thenThrow(new Exception());
+            foojayServiceMock.when(() -> FoojayService.downloadAndExtractJdk(log, httpClient, JDK_VERSION, JDK_VENDOR)).thenThrow(new Exception());
 
-            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, proxySettings, JDK_VERSION, JDK_VENDOR);
+            ToolchainPrivate toolchain = FoojayHelper.getJdkFromFoojay(log, httpClient, JDK_VERSION, JDK_VENDOR);
 
             assertNull(toolchain);
             verify(log).error(eq("Failed to download and install JDK"), any(Exception.class));
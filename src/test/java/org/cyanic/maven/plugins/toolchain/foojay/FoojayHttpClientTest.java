@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Settings;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FoojayHttpClientTest {
+
+    @Mock
+    private MavenSession session;
+
+    private final FoojayHttpClient httpClient = new FoojayHttpClient(null);
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(FoojayHttpClient.READ_TIMEOUT_PROPERTY);
+        System.clearProperty(FoojayHttpClient.LEASE_TIMEOUT_PROPERTY);
+
+        httpClient.close();
+    }
+
+    @Test
+    void testGet_WhenSameSettings_ShouldReuseClient() {
+        assertSame(httpClient.get(), httpClient.get());
+    }
+
+    @Test
+    void testGet_WhenDifferentTimeout_ShouldCreateNewClient() {
+        CloseableHttpClient defaults = httpClient.get();
+
+        System.setProperty(FoojayHttpClient.READ_TIMEOUT_PROPERTY, "5");
+
+        CloseableHttpClient shortReadTimeout = httpClient.get();
+
+        assertNotSame(defaults, shortReadTimeout);
+
+        System.setProperty(FoojayHttpClient.LEASE_TIMEOUT_PROPERTY, "10");
+
+        assertNotSame(shortReadTimeout, httpClient.get());
+    }
+
+    @Test
+    void testForSession_WhenSameSession_ShouldShareClientsUntilSessionEnds() {
+        Proxy proxy = new Proxy();
+        proxy.setHost("proxy.example.com");
+        proxy.setPort(3128);
+
+        Settings settings = new Settings();
+        settings.addProxy(proxy);
+
+        when(session.getSettings()).thenReturn(settings);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+
+        FoojayHttpClient sessionClient = FoojayHttpClient.forSession(session);
+
+        assertSame(sessionClient, FoojayHttpClient.forSession(session));
+        assertSame(proxy, sessionClient.getProxy());
+
+        FoojayHttpClient.closeSession(session);
+
+        assertNotSame(sessionClient, FoojayHttpClient.forSession(session));
+    }
+
+    @Test
+    void testGetTimeout_WhenPropertyIsInvalid_ShouldReturnDefault() {
+        System.setProperty(FoojayHttpClient.READ_TIMEOUT_PROPERTY, "slow");
+
+        assertEquals(FoojayHttpClient.DEFAULT_READ_TIMEOUT, FoojayHttpClient.getTimeout(FoojayHttpClient.READ_TIMEOUT_PROPERTY, FoojayHttpClient.DEFAULT_READ_TIMEOUT));
+    }
+}
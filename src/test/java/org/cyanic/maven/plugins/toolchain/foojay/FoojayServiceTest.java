@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class FoojayServiceTest {
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("jdk.home", tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("jdk.home");
+    }
+
+    @Test
+    void testFindInstalledJdk_WhenInstallationIncomplete_ShouldReturnNull() throws Exception {
+        Files.createDirectories(tempDir.resolve("temurin").resolve("21").resolve("bin"));
+
+        assertNull(FoojayService.findInstalledJdk(log, "21", "temurin"));
+    }
+
+    @Test
+    void testFindInstalledJdk_WhenCompletionMarkerPresent_ShouldReturnJdkHome() throws Exception {
+        Path installDir = Files.createDirectories(tempDir.resolve("temurin").resolve("21"));
+
+        Files.createFile(installDir.resolve(FoojayService.INSTALLED_MARKER));
+
+        assertEquals(installDir, FoojayService.findInstalledJdk(log, "21", "temurin"));
+    }
+
+    @Test
+    void testFindInstalledJdk_WhenMacOsLayout_ShouldReturnContentsHome() throws Exception {
+        Path installDir = Files.createDirectories(tempDir.resolve("zulu").resolve("17"));
+
+        Path javaHome = Files.createDirectories(installDir.resolve("Contents").resolve("Home"));
+
+        Files.writeString(javaHome.resolve("release"), "JAVA_VERSION=\"17\"");
+
+        assertEquals(javaHome, FoojayService.findInstalledJdk(log, "17", "zulu"));
+    }
+
+    @Test
+    void testIsReleaseOf_WhenVersionInFileName_ShouldMatchWholeVersionOnly() throws Exception {
+        Path javaHome = Files.createDirectories(tempDir.resolve("jdk"));
+
+        Files.writeString(javaHome.resolve("release"), "JAVA_VERSION=\"21.0.4\"");
+
+        assertTrue(FoojayService.isReleaseOf(javaHome, pkg("OpenJDK21U-jdk_x64_linux_hotspot_21.0.4_7.tar.gz")));
+        assertTrue(FoojayService.isReleaseOf(javaHome, pkg("zulu21.36.17-ca-jdk21.0.4-linux_x64.tar.gz")));
+        assertFalse(FoojayService.isReleaseOf(javaHome, pkg("OpenJDK21U-jdk_x64_linux_hotspot_21.0.4.1_1.tar.gz")));
+        assertFalse(FoojayService.isReleaseOf(javaHome, pkg("OpenJDK21U-jdk_x64_linux_hotspot_21.0.5_11.tar.gz")));
+
+        Files.writeString(javaHome.resolve("release"), "JAVA_VERSION=\"21\"");
+
+        assertTrue(FoojayService.isReleaseOf(javaHome, pkg("openjdk-21_linux-x64_bin.tar.gz")));
+        assertFalse(FoojayService.isReleaseOf(javaHome, pkg("OpenJDK21U-jdk_x64_linux_hotspot_21.0.4_7.tar.gz")));
+    }
+
+    @Test
+    void testGetBaseUrl_WhenPropertySet_ShouldStripTrailingSlash() {
+        assertEquals(FoojayService.DEFAULT_BASE_URL, FoojayService.getBaseUrl());
+
+        System.setProperty(FoojayService.BASE_URL_PROPERTY, "http://localhost:8080/disco/v3.0/");
+
+        try {
+            assertEquals("http://localhost:8080/disco/v3.0", FoojayService.getBaseUrl());
+        } finally {
+            System.clearProperty(FoojayService.BASE_URL_PROPERTY);
+        }
+    }
+
+    private static FoojayPackage pkg(String fileName) {
+        return new FoojayPackage("id", fileName, "https://example.com/" + fileName, "", "");
+    }
+}
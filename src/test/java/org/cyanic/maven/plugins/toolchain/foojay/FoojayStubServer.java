@@ -0,0 +1,387 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FoojayStubServer implements AutoCloseable {
+
+    private static final String DISCO_PATH = "/disco/v3.0";
+
+    private static final String FILES_PATH = "/files/";
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final Map<String, StubPackage> packages = new ConcurrentHashMap<>();
+
+    private final AtomicInteger discoveryRequests = new AtomicInteger();
+
+    private final AtomicInteger downloadRequests = new AtomicInteger();
+
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private final AtomicInteger connectionsToDrop = new AtomicInteger();
+
+    private volatile long dropAfterBytes;
+
+    private volatile long latencyMillis;
+
+    private volatile long bytesPerSecond;
+
+    private volatile boolean rangesSupported = true;
+
+    private FoojayStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+
+        server.createContext(DISCO_PATH + "/packages", exchange -> handle(exchange, this::servePackages));
+        server.createContext(DISCO_PATH + "/ids/", exchange -> handle(exchange, this::servePackageInfo));
+        server.createContext(FILES_PATH, exchange -> handle(exchange, this::serveArchive));
+
+        server.setExecutor(executor);
+    }
+
+    static FoojayStubServer start() throws IOException {
+        FoojayStubServer stubServer = new FoojayStubServer();
+
+        stubServer.server.start();
+
+        return stubServer;
+    }
+
+    String getBaseUrl() {
+        return getUrl() + DISCO_PATH;
+    }
+
+    FoojayStubServer addJdk(String vendor, String version, byte[] archive) {
+        return addJdk(vendor, version, archive, sha256(archive));
+    }
+
+    FoojayStubServer addJdk(String vendor, String version, byte[] archive, String checksum) {
+        String id = vendor + "-" + version;
+
+        packages.put(key(vendor, version), new StubPackage(id, id + ".tar.gz", archive, checksum));
+
+        return this;
+    }
+
+    void setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    void setRangesSupported(boolean rangesSupported) {
+        this.rangesSupported = rangesSupported;
+    }
+
+    void dropConnections(int count, long afterBytes) {
+        dropAfterBytes = afterBytes;
+
+        connectionsToDrop.set(count);
+    }
+
+    int getDiscoveryRequests() {
+        return discoveryRequests.get();
+    }
+
+    int getDownloadRequests() {
+        return downloadRequests.get();
+    }
+
+    int getRangeRequests() {
+        return rangeRequests.get();
+    }
+
+    long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    void resetCounters() {
+        discoveryRequests.set(0);
+        downloadRequests.set(0);
+        rangeRequests.set(0);
+        bytesServed.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+
+        executor.shutdownNow();
+    }
+
+    static byte[] createJdkArchive(String version, int payloadSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        String root = "jdk-" + version + "/";
+
+        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+            addFile(tarOut, root + "release", ("JAVA_VERSION=\"" + version + "\"").getBytes(StandardCharsets.UTF_8), 0644);
+            addFile(tarOut, root + "bin/java", "java".getBytes(StandardCharsets.UTF_8), 0755);
+
+            byte[] modules = new byte[payloadSize];
+
+            new Random(payloadSize).nextBytes(modules);
+
+            addFile(tarOut, root + "lib/modules", modules, 0644);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            sleep(latencyMillis * 1_000_000);
+
+            handler.handle(exchange);
+        }
+    }
+
+    private void servePackages(HttpExchange exchange) throws IOException {
+        discoveryRequests.incrementAndGet();
+
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        StubPackage stubPackage = packages.get(key(query.getOrDefault("distribution", ""), query.getOrDefault("version", "")));
+
+        JsonArray result = new JsonArray();
+
+        if (stubPackage != null) {
+            JsonObject links = new JsonObject();
+            links.addProperty("pkg_info_uri", getBaseUrl() + "/ids/" + stubPackage.id());
+
+            JsonObject pkg = new JsonObject();
+            pkg.addProperty("id", stubPackage.id());
+            pkg.addProperty("filename", stubPackage.fileName());
+            pkg.add("links", links);
+
+            result.add(pkg);
+        }
+
+        sendJson(exchange, result);
+    }
+
+    private void servePackageInfo(HttpExchange exchange) throws IOException {
+        discoveryRequests.incrementAndGet();
+
+        String id = exchange.getRequestURI().getPath().substring((DISCO_PATH + "/ids/").length());
+
+        JsonArray result = new JsonArray();
+
+        packages.values().stream().filter(stubPackage -> stubPackage.id().equals(id)).findFirst().ifPresent(stubPackage -> {
+            JsonObject info = new JsonObject();
+            info.addProperty("direct_download_uri", getUrl() + FILES_PATH + stubPackage.fileName());
+            info.addProperty("checksum", stubPackage.checksum());
+            info.addProperty("checksum_type", "sha256");
+
+            result.add(info);
+        });
+
+        sendJson(exchange, result);
+    }
+
+    private void serveArchive(HttpExchange exchange) throws IOException {
+        String fileName = exchange.getRequestURI().getPath().substring(FILES_PATH.length());
+
+        StubPackage stubPackage = packages.values().stream().filter(candidate -> candidate.fileName().equals(fileName)).findFirst().orElse(null);
+
+        if (stubPackage == null) {
+            exchange.sendResponseHeaders(404, -1);
+
+            return;
+        }
+
+        byte[] archive = stubPackage.archive();
+
+        if (rangesSupported) {
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+        }
+
+        exchange.getResponseHeaders().add("ETag", "\"" + stubPackage.checksum() + "\"");
+
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(archive.length));
+            exchange.sendResponseHeaders(200, -1);
+
+            return;
+        }
+
+        downloadRequests.incrementAndGet();
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+
+        int start = 0;
+        int end = archive.length - 1;
+        int status = 200;
+
+        if (rangesSupported && range != null) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+
+            start = Integer.parseInt(bounds[0]);
+            end = Integer.parseInt(bounds[1]);
+            status = 206;
+
+            rangeRequests.incrementAndGet();
+        }
+
+        int length = end - start + 1;
+
+        long limit = connectionsToDrop.getAndUpdate(count -> Math.max(0, count - 1)) > 0 ? Math.min(length, dropAfterBytes) : length;
+
+        exchange.sendResponseHeaders(status, length);
+
+        OutputStream out = exchange.getResponseBody();
+
+        long begin = System.nanoTime();
+
+        for (int written = 0; written < limit; ) {
+            int chunk = (int) Math.min(CHUNK_SIZE, limit - written);
+
+            out.write(archive, start + written, chunk);
+            out.flush();
+
+            written += chunk;
+
+            bytesServed.addAndGet(chunk);
+
+            throttle(begin, written);
+        }
+    }
+
+    private void throttle(long begin, long written) throws IOException {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+
+        long expectedNanos = written * 1_000_000_000L / bytesPerSecond;
+
+        sleep(expectedNanos - (System.nanoTime() - begin));
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IOException("Interrupted while simulating the network", e);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, JsonArray result) throws IOException {
+        JsonObject body = new JsonObject();
+        body.add("result", result);
+
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+
+        if (rawQuery == null) {
+            return query;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return query;
+    }
+
+    private static void addFile(TarArchiveOutputStream tarOut, String name, byte[] data, int mode) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(data.length);
+        entry.setMode(mode);
+
+        tarOut.putArchiveEntry(entry);
+        tarOut.write(data);
+        tarOut.closeArchiveEntry();
+    }
+
+    private static String key(String vendor, String version) {
+        return vendor.toLowerCase(Locale.ROOT) + "|" + version;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Handler {
+
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private record StubPackage(String id, String fileName, byte[] archive, String checksum) {}
+}
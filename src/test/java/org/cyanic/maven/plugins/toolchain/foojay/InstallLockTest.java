@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class InstallLockTest {
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAcquire_WhenLockHeld_ShouldWaitUntilReleased() throws Exception {
+        Path lockFile = tempDir.resolve("temurin").resolve(".21.lock");
+
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> waiter;
+
+            try (InstallLock lock = InstallLock.acquire(log, lockFile)) {
+                waiter = executor.submit(() -> {
+                    try (InstallLock other = InstallLock.acquire(log, lockFile)) {
+                        acquired.countDown();
+                    }
+
+                    return null;
+                });
+
+                verify(log, timeout(5000)).info(startsWith("Waiting for another build thread"));
+
+                assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+            }
+
+            assertTrue(acquired.await(5, TimeUnit.SECONDS));
+
+            waiter.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testClose_WhenReleaseFails_ShouldStillCloseChannelAndUnlock() throws Exception {
+        Path lockFile = tempDir.resolve("temurin").resolve(".21.lock");
+
+        InstallLock lock = InstallLock.acquire(log, lockFile);
+
+        Field channelField = InstallLock.class.getDeclaredField("channel");
+        channelField.setAccessible(true);
+
+        FileChannel channel = (FileChannel) channelField.get(lock);
+        channel.close();
+
+        assertThrows(ClosedChannelException.class, lock::close);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                InstallLock.acquire(log, lockFile).close();
+
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+class LocalPackageIndexTest {
+
+    private static final FoojayPackage PACKAGE = new FoojayPackage("abc123", "jdk.tar.gz", "https://example.com/jdk.tar.gz", "abc", "sha256");
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFind_WhenPackageRecorded_ShouldReturnJdkHome() throws Exception {
+        Path jdkHome = Files.createDirectories(tempDir.resolve("temurin").resolve("21"));
+
+        LocalPackageIndex.record(log, tempDir, "temurin", "21", PACKAGE, jdkHome);
+
+        assertEquals(jdkHome, LocalPackageIndex.find(tempDir, "Temurin", "21"));
+        assertNull(LocalPackageIndex.find(tempDir, "temurin", "17"));
+    }
+
+    @Test
+    void testFind_WhenRecordedJdkWasDeleted_ShouldReturnNull() throws Exception {
+        Path jdkHome = Files.createDirectories(tempDir.resolve("temurin").resolve("21"));
+
+        LocalPackageIndex.record(log, tempDir, "temurin", "21", PACKAGE, jdkHome);
+
+        Files.delete(jdkHome);
+
+        assertNull(LocalPackageIndex.find(tempDir, "temurin", "21"));
+    }
+
+    @Test
+    void testFind_WhenIndexIsCorrupted_ShouldReturnNull() throws Exception {
+        Files.writeString(tempDir.resolve(LocalPackageIndex.INDEX_FILE), "{ not json");
+
+        assertNull(LocalPackageIndex.find(tempDir, "temurin", "21"));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.foojay;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ToolchainLockTest {
+
+    private static final FoojayPackage PACKAGE = new FoojayPackage("abc123", "jdk.tar.gz", "https://example.com/jdk.tar.gz", "abc", "sha256");
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("jdk.home", tempDir.resolve("jdks").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("jdk.home");
+    }
+
+    @Test
+    void testRead_WhenPackageLockedForCurrentPlatform_ShouldReturnIt() throws Exception {
+        Path lockFile = writeLock(ToolchainLock.getCurrentPlatform());
+
+        ToolchainLock lock = ToolchainLock.read(lockFile);
+
+        assertEquals(PACKAGE, lock.getPackage("Temurin", "21"));
+        assertNull(lock.getPackage("temurin", "17"));
+    }
+
+    @Test
+    void testRead_WhenOnlyOtherPlatformsLocked_ShouldBeLockedWithoutPackage() throws Exception {
+        ToolchainLock lock = ToolchainLock.read(writeLock("plan9-mips"));
+
+        assertTrue(lock.isLocked("temurin", "21"));
+        assertNull(lock.getPackage("temurin", "21"));
+    }
+
+    @Test
+    void testGetJdkFromLock_WhenCurrentPlatformNotLocked_ShouldFailInsteadOfDiscovering() throws Exception {
+        ToolchainLock lock = ToolchainLock.read(writeLock("plan9-mips"));
+
+        assertTrue(lock.isLocked("temurin", "21"));
+        assertNull(FoojayHelper.getJdkFromLock(log, null, lock, "21", "temurin", false));
+
+        verify(log).error(contains("not for " + ToolchainLock.getCurrentPlatform()));
+    }
+
+    @Test
+    void testWrite_WhenReadBack_ShouldKeepLockedPackages() throws Exception {
+        Path lockFile = tempDir.resolve("copy").resolve(ToolchainLock.LOCK_FILE);
+
+        ToolchainLock.read(writeLock(ToolchainLock.getCurrentPlatform())).write(lockFile);
+
+        assertEquals(PACKAGE, ToolchainLock.read(lockFile).getPackage("temurin", "21"));
+    }
+
+    @Test
+    void testRead_WhenLockfileIsCorrupted_ShouldFail() throws Exception {
+        Path lockFile = Files.writeString(tempDir.resolve(ToolchainLock.LOCK_FILE), "{ not json");
+
+        assertThrows(IOException.class, () -> ToolchainLock.read(lockFile));
+    }
+
+    @Test
+    void testFindInstalledJdk_WhenInstalledPackageDiffersFromLock_ShouldReturnNull() throws Exception {
+        Path jdksDir = tempDir.resolve("jdks");
+
+        Path jdkHome = Files.createDirectories(jdksDir.resolve("temurin").resolve("21"));
+
+        Files.writeString(jdkHome.resolve("release"), "JAVA_VERSION=\"21.0.4\"");
+
+        LocalPackageIndex.record(log, jdksDir, "temurin", "21", new FoojayPackage("old", "old.tar.gz", "https://example.com/old.tar.gz", "", ""), jdkHome);
+
+        assertNull(FoojayService.findInstalledJdk(log, "21", "temurin", PACKAGE));
+
+        LocalPackageIndex.record(log, jdksDir, "temurin", "21", PACKAGE, jdkHome);
+
+        assertEquals(jdkHome, FoojayService.findInstalledJdk(log, "21", "temurin", PACKAGE));
+    }
+
+    private Path writeLock(String platform) throws IOException {
+        return Files.writeString(tempDir.resolve(ToolchainLock.LOCK_FILE), """
+                {
+                  "toolchains": [
+                    {
+                      "vendor": "temurin",
+                      "version": "21",
+                      "packages": {
+                        "%s": {
+                          "id": "abc123",
+                          "fileName": "jdk.tar.gz",
+                          "downloadUrl": "https://example.com/jdk.tar.gz",
+                          "checksum": "abc",
+                          "checksumType": "sha256"
+                        }
+                      }
+                    }
+                  ]
+                }
+                """.formatted(platform));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.maven.plugin.logging.Log;
+import org.cyanic.maven.plugins.toolchain.archive.ExtractionBackends;
+import org.cyanic.maven.plugins.toolchain.xml.ToolchainXmlHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class ProvisioningEventsTest {
+
+    private static final String ORIGINAL_USER_HOME = System.getProperty("user.home");
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("user.home", tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", ORIGINAL_USER_HOME);
+    }
+
+    @Test
+    void testToolchainsXmlWrite_WhenJdkAddedTwice_ShouldRecordWrittenThenUnchanged() throws Exception {
+        Path jdkHome = Files.createDirectories(tempDir.resolve("jdks").resolve("temurin").resolve("21"));
+
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.cyanic.toolchain.ToolchainsXmlWrite");
+
+            recording.start();
+
+            ToolchainXmlHelper.addJDKToToolchains(jdkHome, "21", "temurin");
+            ToolchainXmlHelper.addJDKToToolchains(jdkHome, "21", "temurin");
+
+            recording.stop();
+
+            events = readEvents(recording);
+        }
+
+        assertEquals(2, events.size());
+        assertEquals("temurin", events.get(0).getString("vendor"));
+        assertEquals("21", events.get(0).getString("version"));
+        assertEquals(jdkHome.toAbsolutePath().toString(), events.get(0).getString("jdkHome"));
+        assertEquals("written", events.get(0).getString("outcome"));
+        assertEquals("unchanged", events.get(1).getString("outcome"));
+    }
+
+    @Test
+    void testExtraction_WhenArchiveExtracted_ShouldRecordBackendSizeAndOutcome() throws Exception {
+        System.setProperty("toolchain.installer.extract.backend", "java");
+
+        Path archive = tempDir.resolve("jdk.zip");
+
+        createZip(archive);
+
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.cyanic.toolchain.Extraction");
+
+            recording.start();
+
+            ExtractionBackends.extract(log, archive, tempDir.resolve("out"));
+
+            recording.stop();
+
+            events = readEvents(recording);
+        } finally {
+            System.clearProperty("toolchain.installer.extract.backend");
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("jdk.zip", events.get(0).getString("archive"));
+        assertEquals("java", events.get(0).getString("backend"));
+        assertEquals(Files.size(archive), events.get(0).getLong("bytes"));
+        assertEquals("extracted", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void testExtraction_WhenArchiveStreamed_ShouldRecordStreamingBackendAndBytesRead() throws Exception {
+        Path archive = tempDir.resolve("jdk.zip");
+
+        createZip(archive);
+
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.cyanic.toolchain.Extraction");
+
+            recording.start();
+
+            try (InputStream in = Files.newInputStream(archive)) {
+                ExtractionBackends.extract(log, in, "jdk.zip", tempDir.resolve("out"));
+            }
+
+            recording.stop();
+
+            events = readEvents(recording);
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("jdk.zip", events.get(0).getString("archive"));
+        assertEquals("java (streaming)", events.get(0).getString("backend"));
+        assertEquals(Files.size(archive), events.get(0).getLong("bytes"));
+        assertEquals("extracted", events.get(0).getString("outcome"));
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path dump = tempDir.resolve("events.jfr");
+
+        recording.dump(dump);
+
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private static void createZip(Path archive) throws IOException {
+        try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(archive)) {
+            zipOut.putArchiveEntry(new ZipArchiveEntry("jdk-21/release"));
+            zipOut.write("JAVA_VERSION=\"21\"".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeArchiveEntry();
+        }
+    }
+}
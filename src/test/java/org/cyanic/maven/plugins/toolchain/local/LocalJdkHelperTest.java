@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.local;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.ToolchainPrivate;
+import org.apache.maven.toolchain.java.DefaultJavaToolChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+class LocalJdkHelperTest {
+
+    @Mock
+    private Log log;
+
+    @TempDir
+    Path tempDir;
+
+    private String originalUserHome;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalUserHome = System.getProperty("user.home");
+
+        System.setProperty("user.home", tempDir.toString());
+        System.setProperty("jdk.home", tempDir.resolve("jdks").toString());
+        System.setProperty(LocalJdks.SYSTEM_DIRS_PROPERTY, "");
+
+        Path sdkmanJava = tempDir.resolve(".sdkman").resolve("candidates").resolve("java");
+
+        createJdk(sdkmanJava.resolve("17.0.9-tem"), "17.0.9");
+        createJdk(sdkmanJava.resolve("21.0.1-tem"), "21.0.1");
+        createJdk(tempDir.resolve(".jbang").resolve("cache").resolve("jdks").resolve("21"), "21.0.4");
+        createJdk(tempDir.resolve("jdks").resolve("zulu").resolve("22"), "22.0.2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", originalUserHome);
+        System.clearProperty("jdk.home");
+        System.clearProperty(LocalJdks.SYSTEM_DIRS_PROPERTY);
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenMajorVersion_ShouldPickNewestInstalledUpdate() {
+        ToolchainPrivate toolchain = LocalJdkHelper.getJdkFromLocalInstalls(log, "21", "oracle_open_jdk", true);
+
+        assertJavaHome(tempDir.resolve(".jbang").resolve("cache").resolve("jdks").resolve("21"), toolchain);
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenRange_ShouldPickBestMatchAcrossLocations() {
+        assertJavaHome(tempDir.resolve("jdks").resolve("zulu").resolve("22"), LocalJdkHelper.getJdkFromLocalInstalls(log, "17+", "oracle_open_jdk", true));
+
+        assertJavaHome(tempDir.resolve(".sdkman").resolve("candidates").resolve("java").resolve("17.0.9-tem"),
+                LocalJdkHelper.getJdkFromLocalInstalls(log, "[17,21)", "oracle_open_jdk", true));
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenAnyVendorAccepted_ShouldRegisterJdkUnderItsOwnVendor() {
+        ToolchainPrivate zulu = LocalJdkHelper.getJdkFromLocalInstalls(log, "22", "oracle_open_jdk", true);
+
+        assertEquals("zulu", zulu.getModel().getProvides().getProperty("vendor"));
+
+        ToolchainPrivate unknown = LocalJdkHelper.getJdkFromLocalInstalls(log, "21.0.4", "oracle_open_jdk", true);
+
+        assertNotEquals("oracle_open_jdk", unknown.getModel().getProvides().getProperty("vendor", ""));
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenVendorRequested_ShouldOnlyConsiderThatVendor() {
+        assertJavaHome(tempDir.resolve(".sdkman").resolve("candidates").resolve("java").resolve("21.0.1-tem"),
+                LocalJdkHelper.getJdkFromLocalInstalls(log, "21", "temurin", false));
+
+        assertNull(LocalJdkHelper.getJdkFromLocalInstalls(log, "21", "zulu", false));
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenVendorOnlyInReleaseFile_ShouldMatchImplementor() throws IOException {
+        Path intellijJdk = tempDir.resolve(".jdks").resolve("azul-17.0.12");
+
+        createJdk(intellijJdk, "17.0.12");
+
+        Files.writeString(intellijJdk.resolve("release"), "IMPLEMENTOR=\"Azul Systems, Inc.\"\nJAVA_VERSION=\"17.0.12\"\n");
+
+        assertJavaHome(intellijJdk, LocalJdkHelper.getJdkFromLocalInstalls(log, "17", "zulu", false));
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenJdkBuiltForOtherArch_ShouldSkipIt() throws IOException {
+        Path gradleJdk = tempDir.resolve(".gradle").resolve("jdks").resolve("eclipse_adoptium-23-other");
+
+        Files.createDirectories(gradleJdk);
+
+        Files.writeString(gradleJdk.resolve("release"), "JAVA_VERSION=\"23.0.1\"\nOS_ARCH=\"" + otherArch() + "\"\n");
+
+        assertNull(LocalJdkHelper.getJdkFromLocalInstalls(log, "23", "oracle_open_jdk", true));
+    }
+
+    @Test
+    void testGetJdkFromLocalInstalls_WhenNothingMatches_ShouldReturnNull() {
+        assertNull(LocalJdkHelper.getJdkFromLocalInstalls(log, "11", "oracle_open_jdk", true));
+        assertNull(LocalJdkHelper.getJdkFromLocalInstalls(log, "latest", "oracle_open_jdk", true));
+    }
+
+    private static void assertJavaHome(Path expected, ToolchainPrivate toolchain) {
+        assertEquals(expected.toAbsolutePath().toString(), assertInstanceOf(DefaultJavaToolChain.class, toolchain).getJavaHome());
+    }
+
+    private static String otherArch() {
+        return ReleaseFile.normalizeArch(System.getProperty("os.arch")).equals("aarch64") ? "x86_64" : "aarch64";
+    }
+
+    private static void createJdk(Path javaHome, String version) throws IOException {
+        Files.createDirectories(javaHome.resolve("bin"));
+
+        Files.writeString(javaHome.resolve("release"), "IMPLEMENTOR=\"Test\"\nJAVA_VERSION=\"" + version + "\"\n");
+    }
+}
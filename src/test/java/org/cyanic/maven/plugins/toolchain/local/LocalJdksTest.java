@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.local;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalJdksTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String originalUserHome;
+
+    private Path systemDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalUserHome = System.getProperty("user.home");
+
+        systemDir = Files.createDirectories(tempDir.resolve("usr").resolve("lib").resolve("jvm"));
+
+        System.setProperty("user.home", tempDir.toString());
+        System.setProperty("jdk.home", tempDir.resolve(".m2").resolve("jdks").toString());
+        System.setProperty(LocalJdks.SYSTEM_DIRS_PROPERTY, systemDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", originalUserHome);
+        System.clearProperty("jdk.home");
+        System.clearProperty(LocalJdks.SYSTEM_DIRS_PROPERTY);
+    }
+
+    @Test
+    void testDiscover_WhenJdksInWellKnownLocations_ShouldReadReleaseFiles() throws Exception {
+        createJdk(tempDir.resolve(".jdks").resolve("corretto-17.0.12"), "17.0.12", "Amazon.com Inc.", "x86_64");
+        createJdk(tempDir.resolve(".gradle").resolve("jdks").resolve("eclipse_adoptium-21-amd64-linux").resolve("jdk-21.0.4+7"), "21.0.4", "Eclipse Adoptium", "amd64");
+        createJdk(tempDir.resolve(".asdf").resolve("installs").resolve("java").resolve("zulu-11.74.15"), "11.0.24", "Azul Systems, Inc.", "aarch64");
+        createJdk(tempDir.resolve(".local").resolve("share").resolve("mise").resolve("installs").resolve("java").resolve("22.0.2"), "22.0.2", "Oracle Corporation", "x86_64");
+        createJdk(tempDir.resolve(".m2").resolve("jdks").resolve("liberica").resolve("23"), "23.0.1", "BellSoft", "x86_64");
+        createJdk(systemDir.resolve("java-8-openjdk-amd64"), "1.8.0_422", "Private Build", "amd64");
+
+        Map<String, LocalJdk> jdks = LocalJdks.discover().stream().collect(Collectors.toMap(jdk -> jdk.version().toString(), jdk -> jdk));
+
+        assertEquals(6, jdks.size());
+        assertJdk(jdks.get("17.0.12"), "corretto", "x64", "IntelliJ");
+        assertJdk(jdks.get("21.0.4"), "temurin", "x64", "Gradle");
+        assertJdk(jdks.get("11.0.24"), "zulu", "aarch64", "asdf");
+        assertJdk(jdks.get("22.0.2"), "oracle_open_jdk", "x64", "mise");
+        assertJdk(jdks.get("23.0.1"), "liberica", "x64", "Foojay");
+        assertJdk(jdks.get("8.0.422"), "", "x64", "System");
+        assertEquals(tempDir.resolve(".gradle").resolve("jdks").resolve("eclipse_adoptium-21-amd64-linux").resolve("jdk-21.0.4+7"), jdks.get("21.0.4").home());
+    }
+
+    @Test
+    void testDiscover_WhenSameJdkLinkedTwice_ShouldReturnItOnce() throws Exception {
+        Path javaHome = systemDir.resolve("java-17-openjdk-amd64");
+
+        createJdk(javaHome, "17.0.12", "Eclipse Adoptium", "x86_64");
+
+        Files.createSymbolicLink(systemDir.resolve("default-java"), javaHome);
+
+        List<LocalJdk> jdks = LocalJdks.discover();
+
+        assertEquals(1, jdks.size());
+        assertEquals(systemDir.resolve("default-java"), jdks.get(0).home());
+    }
+
+    @Test
+    void testDiscover_WhenDirectoryUnchanged_ShouldReuseCachedScan() throws Exception {
+        Path jdksDir = tempDir.resolve(".jdks");
+
+        Path javaHome = jdksDir.resolve("temurin-21");
+
+        createJdk(javaHome, "21.0.4", "Eclipse Adoptium", "x86_64");
+
+        FileTime modified = Files.getLastModifiedTime(jdksDir);
+
+        assertEquals("21.0.4", LocalJdks.discover().get(0).version().toString());
+
+        Files.writeString(javaHome.resolve("release"), "JAVA_VERSION=\"21.0.5\"\n");
+
+        assertEquals("21.0.4", LocalJdks.discover().get(0).version().toString());
+
+        createJdk(jdksDir.resolve("temurin-17"), "17.0.12", "Eclipse Adoptium", "x86_64");
+
+        Files.setLastModifiedTime(jdksDir, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        assertEquals(List.of("17.0.12", "21.0.5"), LocalJdks.discover().stream().map(jdk -> jdk.version().toString()).toList());
+    }
+
+    @Test
+    void testGetVendor_WhenImplementorNamesSeveralVendors_ShouldPreferMostSpecific() {
+        assertEquals("graalvm_community", new ReleaseFile("21", "GraalVM Community Edition by Oracle", "").getVendor());
+        assertEquals("semeru", new ReleaseFile("21", "International Business Machines Corporation", "").getVendor());
+        assertEquals("oracle_open_jdk", new ReleaseFile("21", "Oracle Corporation", "").getVendor());
+    }
+
+    private static void assertJdk(LocalJdk jdk, String vendor, String arch, String source) {
+        assertEquals(vendor, jdk.vendor());
+        assertEquals(arch, jdk.arch());
+        assertEquals(source, jdk.source());
+    }
+
+    private static void createJdk(Path javaHome, String version, String implementor, String arch) throws IOException {
+        Files.createDirectories(javaHome.resolve("bin"));
+
+        Files.writeString(javaHome.resolve("release"), "IMPLEMENTOR=\"" + implementor + "\"\nJAVA_VERSION=\"" + version + "\"\nOS_ARCH=\"" + arch + "\"\n");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.metrics;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProvisioningMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTime_WhenPhasesAreNested_ShouldRecordSelfTime() throws Exception {
+        AtomicLong clock = new AtomicLong();
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start(clock::get)) {
+            ProvisioningMetrics.time(Phase.SDKMAN, () -> {
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+
+                return ProvisioningMetrics.time(Phase.TOOLCHAINS_XML, () -> {
+                    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+                    return null;
+                });
+            });
+
+            assertEquals(1, metrics.getCalls(Phase.SDKMAN));
+            assertEquals(1, metrics.getCalls(Phase.TOOLCHAINS_XML));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(50), metrics.getNanos(Phase.TOOLCHAINS_XML));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(20), metrics.getNanos(Phase.SDKMAN));
+        }
+    }
+
+    @Test
+    void testTimeReads_WhenReadInsideTimedPhase_ShouldChargeReadsToTheirOwnPhase() throws Exception {
+        AtomicLong clock = new AtomicLong();
+
+        InputStream network = new InputStream() {
+            @Override
+            public int read() {
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(30));
+
+                return -1;
+            }
+        };
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start(clock::get)) {
+            InputStream in = ProvisioningMetrics.timeReads(Phase.DOWNLOAD, network);
+
+            ProvisioningMetrics.time(Phase.EXTRACTION, () -> {
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+
+                return in.read();
+            });
+
+            assertEquals(0, metrics.getCalls(Phase.DOWNLOAD));
+            assertEquals(1, metrics.getCalls(Phase.EXTRACTION));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(30), metrics.getNanos(Phase.DOWNLOAD));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(10), metrics.getNanos(Phase.EXTRACTION));
+        }
+    }
+
+    @Test
+    void testTime_WhenActionFails_ShouldStillRecordAndRethrow() {
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start()) {
+            assertThrows(IOException.class, () -> ProvisioningMetrics.time(Phase.DOWNLOAD, () -> {
+                throw new IOException("boom");
+            }));
+
+            assertEquals(1, metrics.getCalls(Phase.DOWNLOAD));
+        }
+    }
+
+    @Test
+    void testTime_WhenNoMetricsStarted_ShouldOnlyRunAction() {
+        assertEquals("result", ProvisioningMetrics.time(Phase.JBANG, () -> "result"));
+
+        ProvisioningMetrics.addBytes(Phase.DOWNLOAD, 100);
+    }
+
+    @Test
+    void testWriteReport_ShouldContainPhasesBytesAndToolchains() throws Exception {
+        Path reportFile = tempDir.resolve("target").resolve("report.json");
+
+        AtomicLong clock = new AtomicLong();
+
+        try (ProvisioningMetrics metrics = ProvisioningMetrics.start(clock::get)) {
+            ProvisioningMetrics.time(Phase.DOWNLOAD, () -> {
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+                return null;
+            });
+
+            ProvisioningMetrics.addBytes(Phase.DOWNLOAD, 4096);
+
+            metrics.recordToolchain("jdk", "installed");
+
+            metrics.writeReport(reportFile);
+
+            assertTrue(metrics.getSummary().stream().anyMatch(line -> line.contains("download") && line.contains("4.0 KB")));
+        }
+
+        JsonObject report = JsonParser.parseString(Files.readString(reportFile)).getAsJsonObject();
+
+        assertEquals("installed", report.getAsJsonObject("toolchains").get("jdk").getAsString());
+
+        JsonObject download = report.getAsJsonArray("phases").asList().stream()
+                .map(phase -> phase.getAsJsonObject())
+                .filter(phase -> phase.get("phase").getAsString().equals("download"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, download.get("calls").getAsLong());
+        assertEquals(4096, download.get("bytes").getAsLong());
+        assertEquals(2048, download.get("bytesPerSecond").getAsLong());
+    }
+}
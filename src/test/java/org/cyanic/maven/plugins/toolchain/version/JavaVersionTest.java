@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaVersionTest {
+
+    @Test
+    void testParse_WhenVersionStrings_ShouldExtractNumericComponents() {
+        assertEquals(List.of(21, 0, 4), JavaVersion.parse("21.0.4").components());
+        assertEquals(List.of(21, 0, 4), JavaVersion.parse("21.0.4+7-LTS").components());
+        assertEquals(List.of(17, 0, 9), JavaVersion.parse("17.0.9-tem").components());
+        assertEquals(List.of(8, 0, 392), JavaVersion.parse("1.8.0_392").components());
+        assertEquals(List.of(22), JavaVersion.parse("jdk-22").components());
+        assertEquals(List.of(23), JavaVersion.parse("23-ea").components());
+    }
+
+    @Test
+    void testParse_WhenNotAVersion_ShouldReturnNull() {
+        assertNull(JavaVersion.parse(null));
+        assertNull(JavaVersion.parse(""));
+        assertNull(JavaVersion.parse("current"));
+    }
+
+    @Test
+    void testCompareTo_WhenTrailingZeros_ShouldTreatVersionsAsEqual() {
+        assertEquals(0, JavaVersion.parse("21").compareTo(JavaVersion.parse("21.0.0")));
+        assertTrue(JavaVersion.parse("21.0.10").compareTo(JavaVersion.parse("21.0.9")) > 0);
+        assertTrue(JavaVersion.parse("1.8.0_392").compareTo(JavaVersion.parse("11")) < 0);
+    }
+
+    @Test
+    void testStartsWith_WhenPrefixMatchesLeadingComponents_ShouldReturnTrue() {
+        assertTrue(JavaVersion.parse("21.0.4").startsWith(JavaVersion.parse("21")));
+        assertTrue(JavaVersion.parse("21.0.4").startsWith(JavaVersion.parse("21.0")));
+        assertFalse(JavaVersion.parse("21.0.4").startsWith(JavaVersion.parse("21.0.5")));
+        assertFalse(JavaVersion.parse("21").startsWith(JavaVersion.parse("21.0.4")));
+    }
+
+    @Test
+    void testStartsWith_WhenPrefixHasMoreComponents_ShouldPadVersionWithZeros() {
+        assertTrue(JavaVersion.parse("21").startsWith(JavaVersion.parse("21.0")));
+        assertTrue(JavaVersion.parse("21").startsWith(JavaVersion.parse("21.0.0")));
+        assertFalse(JavaVersion.parse("21").startsWith(JavaVersion.parse("21.1")));
+    }
+}
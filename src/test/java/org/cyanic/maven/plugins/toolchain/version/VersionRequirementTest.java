@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 pjgomez97
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cyanic.maven.plugins.toolchain.version;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionRequirementTest {
+
+    @Test
+    void testMatches_WhenPlainVersion_ShouldMatchAnyVersionWithThatPrefix() {
+        VersionRequirement requirement = VersionRequirement.parse("21");
+
+        assertTrue(requirement.matches(JavaVersion.parse("21.0.4")));
+        assertTrue(requirement.matches(JavaVersion.parse("21")));
+        assertFalse(requirement.matches(JavaVersion.parse("22")));
+        assertFalse(requirement.matches(JavaVersion.parse("2.1")));
+        assertFalse(requirement.isRange());
+        assertEquals("21", requirement.getDownloadVersion());
+    }
+
+    @Test
+    void testMatches_WhenHalfOpenRange_ShouldHonourBounds() {
+        VersionRequirement requirement = VersionRequirement.parse("[21,22)");
+
+        assertTrue(requirement.matches(JavaVersion.parse("21")));
+        assertTrue(requirement.matches(JavaVersion.parse("21.0.4")));
+        assertFalse(requirement.matches(JavaVersion.parse("22")));
+        assertFalse(requirement.matches(JavaVersion.parse("17.0.9")));
+        assertTrue(requirement.isRange());
+        assertEquals("21", requirement.getDownloadVersion());
+    }
+
+    @Test
+    void testMatches_WhenPlusSuffix_ShouldMatchThatVersionAndNewer() {
+        VersionRequirement requirement = VersionRequirement.parse("17+");
+
+        assertTrue(requirement.matches(JavaVersion.parse("17.0.9")));
+        assertTrue(requirement.matches(JavaVersion.parse("21")));
+        assertFalse(requirement.matches(JavaVersion.parse("11.0.21")));
+        assertEquals("17", requirement.getDownloadVersion());
+    }
+
+    @Test
+    void testToVersionSpec_WhenPlusSuffix_ShouldReturnMavenRange() {
+        assertEquals("[17,)", VersionRequirement.parse("17+").toVersionSpec());
+        assertEquals("[21,22)", VersionRequirement.parse("[21,22)").toVersionSpec());
+        assertEquals("21", VersionRequirement.parse("21").toVersionSpec());
+    }
+
+    @Test
+    void testMatches_WhenPlainVersionHasTrailingZeros_ShouldMatchShorterVersion() {
+        assertTrue(VersionRequirement.parse("21.0").matches(JavaVersion.parse("21")));
+    }
+
+    @Test
+    void testMatches_WhenOpenLowerBound_ShouldHaveNoDownloadVersion() {
+        VersionRequirement requirement = VersionRequirement.parse("(,17]");
+
+        assertTrue(requirement.matches(JavaVersion.parse("11")));
+        assertTrue(requirement.matches(JavaVersion.parse("17")));
+        assertFalse(requirement.matches(JavaVersion.parse("17.0.1")));
+        assertNull(requirement.getDownloadVersion());
+    }
+
+    @Test
+    void testParse_WhenMalformed_ShouldReturnNull() {
+        assertNull(VersionRequirement.parse(""));
+        assertNull(VersionRequirement.parse("latest"));
+        assertNull(VersionRequirement.parse("[a,22)"));
+        assertNull(VersionRequirement.parse("[17,21,22)"));
+    }
+}
@@ -31,9 +31,16 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -144,6 +151,126 @@ class ToolchainXmlHelperTest {
         thenToolchainXmlHasExpectedValues(secondToolchain, "jdk", JDK_VERSION, JDK_VENDOR, jdkHome.toAbsolutePath().toString());
     }
 
+    @Test
+    void testAddJDKToToolchains_WhenSameJdkAddedAgain_ShouldNotRewriteFile() throws Exception {
+        Path jdkHome = tempDir.resolve("jdk-17");
+        Files.createDirectories(jdkHome);
+
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, JDK_VENDOR);
+
+        File toolchainsFile = new File(new File(TEST_USER_HOME), ".m2/toolchains.xml");
+        assertTrue(toolchainsFile.setLastModified(1000));
+
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, JDK_VENDOR);
+
+        assertEquals(1000, toolchainsFile.lastModified());
+
+        Xpp3Dom toolchainsDom = Xpp3DomBuilder.build(new FileReader(toolchainsFile));
+        assertEquals(1, toolchainsDom.getChildCount());
+    }
+
+    @Test
+    void testAddJDKToToolchains_WhenEntryHasBlankVendor_ShouldMergeProvides() throws Exception {
+        Path jdkHome = tempDir.resolve("jdk-17");
+        Files.createDirectories(jdkHome);
+
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, "");
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, JDK_VENDOR);
+
+        File toolchainsFile = new File(new File(TEST_USER_HOME), ".m2/toolchains.xml");
+
+        Xpp3Dom toolchainsDom = Xpp3DomBuilder.build(new FileReader(toolchainsFile));
+        assertEquals(1, toolchainsDom.getChildCount());
+
+        thenToolchainXmlHasExpectedValues(toolchainsDom.getChild(0), "jdk", JDK_VERSION, JDK_VENDOR, jdkHome.toAbsolutePath().toString());
+    }
+
+    @Test
+    void testAddJDKToToolchains_WhenExistingEntryHasNonAsciiPath_ShouldKeepItUtf8Encoded() throws Exception {
+        File toolchainsFile = new File(new File(TEST_USER_HOME), ".m2/toolchains.xml");
+        String existingContent = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <toolchains>
+                <toolchain>
+                    <type>jdk</type>
+                    <provides>
+                        <version>11</version>
+                        <vendor>oracle</vendor>
+                    </provides>
+                    <configuration>
+                        <jdkHome>/opt/jdks/jdk-11-español</jdkHome>
+                    </configuration>
+                </toolchain>
+            </toolchains>
+            """;
+        Files.writeString(toolchainsFile.toPath(), existingContent, StandardCharsets.UTF_8);
+
+        Path jdkHome = tempDir.resolve("jdk-17");
+        Files.createDirectories(jdkHome);
+
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, JDK_VENDOR);
+
+        assertTrue(Files.readString(toolchainsFile.toPath(), StandardCharsets.UTF_8).contains("/opt/jdks/jdk-11-español"));
+    }
+
+    @Test
+    void testAddJDKToToolchains_WhenFileHasDuplicates_ShouldRemoveThem() throws Exception {
+        File toolchainsFile = new File(new File(TEST_USER_HOME), ".m2/toolchains.xml");
+        String toolchain = """
+                <toolchain>
+                    <type>jdk</type>
+                    <provides>
+                        <version>11</version>
+                        <vendor>oracle</vendor>
+                    </provides>
+                    <configuration>
+                        <jdkHome>/usr/lib/jvm/java-11-oracle</jdkHome>
+                    </configuration>
+                </toolchain>
+            """;
+        Files.write(toolchainsFile.toPath(), ("<toolchains>" + toolchain + toolchain + toolchain + "</toolchains>").getBytes());
+
+        Path jdkHome = tempDir.resolve("jdk-17");
+        Files.createDirectories(jdkHome);
+
+        ToolchainXmlHelper.addJDKToToolchains(jdkHome, JDK_VERSION, JDK_VENDOR);
+
+        Xpp3Dom toolchainsDom = Xpp3DomBuilder.build(new FileReader(toolchainsFile));
+        assertEquals(2, toolchainsDom.getChildCount());
+
+        thenToolchainXmlHasExpectedValues(toolchainsDom.getChild(0), "jdk", "11", "oracle", "/usr/lib/jvm/java-11-oracle");
+        thenToolchainXmlHasExpectedValues(toolchainsDom.getChild(1), "jdk", JDK_VERSION, JDK_VENDOR, jdkHome.toAbsolutePath().toString());
+    }
+
+    @Test
+    void testAddJDKToToolchains_WhenCalledConcurrently_ShouldKeepEveryEntryAndLeaveNoTempFiles() throws Exception {
+        List<Callable<ToolchainPrivate>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            Path jdkHome = tempDir.resolve("jdk-" + i);
+            Files.createDirectories(jdkHome);
+
+            String version = String.valueOf(i);
+
+            tasks.add(() -> ToolchainXmlHelper.addJDKToToolchains(jdkHome, version, JDK_VENDOR));
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(tasks.size())) {
+            for (Future<ToolchainPrivate> future : executor.invokeAll(tasks)) {
+                assertNotNull(future.get());
+            }
+        }
+
+        File m2Dir = new File(new File(TEST_USER_HOME), ".m2");
+
+        Xpp3Dom toolchainsDom = Xpp3DomBuilder.build(new FileReader(new File(m2Dir, "toolchains.xml")));
+        assertEquals(tasks.size(), toolchainsDom.getChildCount());
+
+        String[] leftovers = m2Dir.list((dir, name) -> name.endsWith(".tmp"));
+        assertNotNull(leftovers);
+        assertEquals(0, leftovers.length);
+    }
+
     private static void thenToolchainHasExpectedValues(ToolchainPrivate result, String type, String jdkVersion, String jdkVendor, String jdkHome) {
         assertNotNull(result);
         assertInstanceOf(DefaultJavaToolChain.class, result);